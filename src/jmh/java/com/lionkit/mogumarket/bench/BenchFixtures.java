@@ -0,0 +1,59 @@
+package com.lionkit.mogumarket.bench;
+
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
+import com.lionkit.mogumarket.product.entity.Product;
+import com.lionkit.mogumarket.product.enums.Unit;
+import com.lionkit.mogumarket.store.entity.Store;
+
+import java.time.LocalDateTime;
+
+/**
+ * 벤치마크용 인메모리 엔티티 (DB 없이 빌더로만 구성)
+ */
+final class BenchFixtures {
+
+    private BenchFixtures() {}
+
+    static Product product(long id) {
+        Store store = Store.builder().id(1L).name("모구상회").build();
+        return Product.builder()
+                .id(id)
+                .name("상품-" + id)
+                .unit(Unit.KG)
+                .originalPricePerBaseUnit(12_000)
+                .stock(10_000)
+                .currentBaseQty(4_200)
+                .imageUrl("https://cdn.example/p/" + id + ".png")
+                .store(store)
+                .build();
+    }
+
+    /** 목표 targetQty 를 stageCount 단계로 균등 분할 (GroupBuyService.createGroupBuy 와 같은 규칙) */
+    static GroupBuy groupBuy(Product product, double targetQty, double currentQty, int stageCount) {
+        double maxDiscountPercent = 20;
+        GroupBuy gb = GroupBuy.builder()
+                .id(product.getId())
+                .product(product)
+                .startAt(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .endAt(LocalDateTime.of(2025, 1, 8, 0, 0))
+                .targetQty(targetQty)
+                .currentQty(currentQty)
+                .maxDiscountPercent(maxDiscountPercent)
+                .basePricePerBaseUnitSnapshot(product.getOriginalPricePerBaseUnit())
+                .version(3L)
+                .build();
+
+        for (int level = 1; level <= stageCount; level++) {
+            GroupBuyStage stage = GroupBuyStage.builder()
+                    .groupBuy(gb)
+                    .level(level)
+                    .startQty(Math.round((targetQty * level) / (stageCount + 1)))
+                    .discountPercent(Math.round((maxDiscountPercent * level) / stageCount * 10) / 10.0)
+                    .build();
+            stage.computeAppliedPriceFromSnapshot();
+            gb.getStages().add(stage);
+        }
+        return gb;
+    }
+}
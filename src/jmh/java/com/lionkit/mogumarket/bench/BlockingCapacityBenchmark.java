@@ -0,0 +1,101 @@
+package com.lionkit.mogumarket.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 외부 호출(PortOne 결제 조회, LLM 완성) 중 동시 요청 처리량: 플랫폼 스레드 풀 vs 가상 스레드
+ * - platform: Tomcat 기본 max-threads(200) 크기 풀. 요청당 스레드 하나가 외부 응답을 기다리며 묶임
+ * - virtual: spring.threads.virtual.enabled=true 와 같은 요청당 가상 스레드
+ * - virtual-pinned: 가상 스레드지만 synchronized 안에서 블로킹 (구형 JDBC 드라이버 등) → 캐리어 수로 제한
+ * 결과는 요청 burst 한 번을 모두 처리하는 데 걸린 시간(ms). 작을수록 동시 처리 용량이 큼
+ * 실행: ./gradlew jmh -PjmhIncludes=BlockingCapacityBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockingCapacityBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtual-pinned"})
+    String mode;
+
+    @Param({"1000"})
+    int requests;
+
+    /** PortOne 결제 조회 stand-in 지연 */
+    @Param({"30"})
+    long portoneMs;
+
+    /** LLM 완성 stand-in 지연 */
+    @Param({"120"})
+    long llmMs;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        boolean pinned = "virtual-pinned".equals(mode);
+        for (int i = 0; i < requests; i++) {
+            executor.execute(() -> {
+                try {
+                    handle(pinned);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return done.getCount();
+    }
+
+    /** 요청 1건: 결제 확인 후 LLM 호출 (둘 다 블로킹) */
+    private void handle(boolean pinned) {
+        if (pinned) {
+            // 스레드별 모니터: 경합은 없지만 모니터를 잡은 채 블로킹하면 가상 스레드가 캐리어에 고정됨
+            Object monitor = new Object();
+            synchronized (monitor) {
+                callUpstream(portoneMs);
+                callUpstream(llmMs);
+            }
+        } else {
+            callUpstream(portoneMs);
+            callUpstream(llmMs);
+        }
+    }
+
+    private static void callUpstream(long latencyMs) {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.lionkit.mogumarket.bench;
+
+import com.lionkit.mogumarket.security.jwt.util.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 필터에서 수행되는 액세스 토큰 검증/파싱 (JwtTokenProvider.parseClaims 경유)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtParseBenchmark {
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        provider = new JwtTokenProvider();
+        set("secretKey", "benchmark-secret-key-benchmark-secret-key-0123456789");
+        set("accessTokenExpiration", 3_600_000L);
+        set("refreshTokenExpiration", 1_209_600_000L);
+        token = provider.generateAccessToken(42L);
+    }
+
+    private void set(String field, Object value) throws Exception {
+        Field f = JwtTokenProvider.class.getDeclaredField(field);
+        f.setAccessible(true);
+        f.set(provider, value);
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return provider.isValidToken(token);
+    }
+
+    @Benchmark
+    public Long extractId() {
+        return provider.extractId(token);
+    }
+}
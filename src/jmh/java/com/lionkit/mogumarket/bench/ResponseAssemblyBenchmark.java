@@ -0,0 +1,78 @@
+package com.lionkit.mogumarket.bench;
+
+import com.lionkit.mogumarket.cart.dto.response.CartLineResponse;
+import com.lionkit.mogumarket.cart.dto.response.CartSummaryResponse;
+import com.lionkit.mogumarket.cart.enums.PurchaseRoute;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import com.lionkit.mogumarket.product.dto.response.ProductOverviewResponse;
+import com.lionkit.mogumarket.product.dto.response.ProductOverviewStatic;
+import com.lionkit.mogumarket.product.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 DTO 조립: 장바구니 요약, 상품 개요
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseAssemblyBenchmark {
+
+    @Param({"5", "50"})
+    int cartSize;
+
+    private List<CartLineResponse> cartItems;
+    private Product product;
+    private GroupBuy groupBuy;
+    private GroupBuyStageTable stageTable;
+    private ProductOverviewStatic overviewStatic;
+
+    @Setup
+    public void setUp() {
+        cartItems = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            double unitPrice = 1_000 + i * 10;
+            double qty = 1 + (i % 4);
+            cartItems.add(CartLineResponse.builder()
+                    .productId((long) i)
+                    .productName("상품-" + i)
+                    .unitPrice(unitPrice)
+                    .quantity(qty)
+                    .lineTotal(unitPrice * qty)
+                    .route(i % 2 == 0 ? PurchaseRoute.NORMAL : PurchaseRoute.GROUP_BUY)
+                    .build());
+        }
+
+        product = BenchFixtures.product(1L);
+        groupBuy = BenchFixtures.groupBuy(product, 1_000, 420, 5);
+        stageTable = GroupBuyStageTable.of(groupBuy.getStages());
+        overviewStatic = ProductOverviewStatic.of(product, groupBuy, stageTable);
+    }
+
+    @Benchmark
+    public CartSummaryResponse cartSummary() {
+        return CartSummaryResponse.fromItems(cartItems);
+    }
+
+    @Benchmark
+    public ProductOverviewResponse productOverview() {
+        return ProductOverviewResponse.of(product, groupBuy, stageTable);
+    }
+
+    /** 캐시 적중 경로: 정적 부분은 캐시에서, 누적 수량만 새로 반영 */
+    @Benchmark
+    public ProductOverviewResponse productOverviewFromCachedStatic() {
+        return ProductOverviewResponse.of(overviewStatic, product.getCurrentBaseQty(), groupBuy.getCurrentQty());
+    }
+}
@@ -0,0 +1,45 @@
+package com.lionkit.mogumarket.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.dto.response.GroupBuySnapshotResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공구 스냅샷 응답 생성 + JSON 직렬화
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotJsonBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private GroupBuy groupBuy;
+    private GroupBuySnapshotResponse snapshot;
+
+    @Setup
+    public void setUp() {
+        groupBuy = BenchFixtures.groupBuy(BenchFixtures.product(1L), 1_000, 420, 5);
+        snapshot = GroupBuySnapshotResponse.fromEntity(groupBuy);
+    }
+
+    @Benchmark
+    public GroupBuySnapshotResponse fromEntity() {
+        return GroupBuySnapshotResponse.fromEntity(groupBuy);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(snapshot);
+    }
+}
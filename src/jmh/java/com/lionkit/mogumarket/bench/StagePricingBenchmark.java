@@ -0,0 +1,65 @@
+package com.lionkit.mogumarket.bench;
+
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단계 단가 계산 / 누적 수량 → 단계 조회
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StagePricingBenchmark {
+
+    @Param({"3", "10"})
+    int stageCount;
+
+    private List<GroupBuyStage> stages;
+    private GroupBuyStageTable table;
+    private double[] quantities;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        GroupBuy gb = BenchFixtures.groupBuy(BenchFixtures.product(1L), 1_000, 420, stageCount);
+        stages = gb.getStages();
+        table = GroupBuyStageTable.of(stages);
+
+        SplittableRandom random = new SplittableRandom(42);
+        quantities = new double[1024];
+        for (int i = 0; i < quantities.length; i++) quantities[i] = random.nextDouble(0, 1_100);
+    }
+
+    @Benchmark
+    public void computeAppliedPrice(Blackhole bh) {
+        for (GroupBuyStage s : stages) {
+            s.computeAppliedPriceFromSnapshot();
+            bh.consume(s.getAppliedUnitPrice());
+        }
+    }
+
+    @Benchmark
+    public int resolveStage() {
+        double qty = quantities[cursor++ & (quantities.length - 1)];
+        return table.indexAt(qty);
+    }
+
+    @Benchmark
+    public GroupBuyStageTable buildStageTable() {
+        return GroupBuyStageTable.of(stages);
+    }
+}
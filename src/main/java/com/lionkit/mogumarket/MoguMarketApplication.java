@@ -5,6 +5,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Map;
+
 
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
@@ -21,7 +23,21 @@ import io.swagger.v3.oas.annotations.security.SecurityScheme;
 public class MoguMarketApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(MoguMarketApplication.class, args);
+		SpringApplication app = new SpringApplication(MoguMarketApplication.class);
+		// 외부 설정에 없을 때만 적용되는 기본값
+		app.setDefaultProperties(Map.of(
+				"management.endpoints.web.exposure.include", "health,prometheus",
+				"management.metrics.tags.application", "mogumarket",
+				// 기존 Hibernate 관리 스키마 위에서 시작: 첫 실행 시 baseline(0) 후 V1 부터 적용
+				"spring.flyway.locations", "classpath:db/migration/{vendor}",
+				"spring.flyway.baseline-on-migrate", "true",
+				"spring.flyway.baseline-version", "0",
+				// true: Tomcat 요청/@Async/@Scheduled 를 가상 스레드로 실행 (+ /admin/threads/pinned 진단)
+				"spring.threads.virtual.enabled", "false",
+				// 아웃박스 디스패처가 핸들러를 기다리는 동안에도 예약 flush/마감 휠/SSE tick 이 돌도록 (기본 1)
+				"spring.task.scheduling.pool.size", "4"
+		));
+		app.run(args);
 	}
 
 }
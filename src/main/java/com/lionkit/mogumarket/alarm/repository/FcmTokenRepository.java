@@ -2,7 +2,12 @@ package com.lionkit.mogumarket.alarm.repository;
 
 import com.lionkit.mogumarket.alarm.entity.Alarm;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +17,24 @@ public interface FcmTokenRepository extends JpaRepository<Alarm, Long> {
 
         List<Alarm> findAllByUserId(Long userId);
 
+        /** 여러 사용자의 토큰을 한 번에 조회 (엔티티 로딩 없이 userId, token 만) */
+        @Query("select a.user.id as userId, a.token as token from Alarm a where a.user.id in :userIds")
+        List<UserToken> findTokensByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
         boolean existsByUserIdAndToken(Long userId, String token);
 
         void deleteByUserId(Long userId);
 
         void deleteByUserIdAndToken(Long userId, String token);
-}
\ No newline at end of file
+
+        /** 만료/무효 토큰 일괄 삭제 (DELETE 1회) */
+        @Transactional
+        @Modifying
+        @Query("delete from Alarm a where a.token in :tokens")
+        int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+
+        interface UserToken {
+                Long getUserId();
+                String getToken();
+        }
+}
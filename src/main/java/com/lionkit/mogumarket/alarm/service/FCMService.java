@@ -18,6 +18,8 @@ public class FCMService {
 
     private final FcmTokenRepository fcmTokenRepository;
     private final UserRepository userRepository;
+    private final FcmBatchSender fcmBatchSender;
+    private final FcmTokenCache fcmTokenCache;
 
     /** (웹 최적화) 단일 토큰 전송 */
     @Transactional
@@ -51,54 +53,20 @@ public class FCMService {
             // 등록 해제/만료 토큰 정리
             if (MessagingErrorCode.UNREGISTERED.equals(e.getMessagingErrorCode())
                     || MessagingErrorCode.INVALID_ARGUMENT.equals(e.getMessagingErrorCode())) {
-                fcmTokenRepository.findByToken(token).ifPresent(a -> fcmTokenRepository.deleteById(a.getId()));
+                fcmTokenRepository.deleteByTokenIn(List.of(token));
+                fcmTokenCache.evictTokens(List.of(token));
             }
             throw e;
         }
     }
 
-    /** 내 모든 기기에 멀티캐스트 전송 (실패 토큰 청소 포함) */
-    @Transactional
+    /** 내 모든 기기에 멀티캐스트 전송 (실패 토큰 청소 포함) - 외부 호출 동안 트랜잭션을 잡지 않음 */
     public SendResult sendToUser(Long userId, String title, String body) throws FirebaseMessagingException {
-        List<Alarm> alarms = fcmTokenRepository.findAllByUserId(userId);
-        if (alarms.isEmpty()) return new SendResult(0, 0, List.of());
-
-        List<String> tokens = alarms.stream().map(Alarm::getToken).toList();
-
-        WebpushNotification webpushNotification = WebpushNotification.builder()
-                .setTitle(title)
-                .setBody(body)
-                .setIcon("https://your.cdn/icon-192.png")
-                .build();
+        List<String> tokens = fcmTokenCache.tokensOf(userId);
+        if (tokens.isEmpty()) return new SendResult(0, 0, List.of());
 
-        WebpushConfig webpush = WebpushConfig.builder()
-                .putHeader("TTL", "3600")
-                .setNotification(webpushNotification)
-                .putData("click_action", "/notifications")
-                .build();
-
-        MulticastMessage message = MulticastMessage.builder()
-                .addAllTokens(tokens)
-                .setWebpushConfig(webpush)
-                .build();
-
-        BatchResponse resp = FirebaseMessaging.getInstance().sendMulticast(message);
-
-        List<String> toDelete = new ArrayList<>();
-        for (int i = 0; i < resp.getResponses().size(); i++) {
-            var r = resp.getResponses().get(i);
-            if (!r.isSuccessful() && r.getException() != null) {
-                MessagingErrorCode code = r.getException().getMessagingErrorCode();
-                if (MessagingErrorCode.UNREGISTERED.equals(code) || MessagingErrorCode.INVALID_ARGUMENT.equals(code)) {
-                    toDelete.add(tokens.get(i));
-                }
-            }
-        }
-        // 실패 토큰 정리
-        for (String t : toDelete) {
-            fcmTokenRepository.findByToken(t).ifPresent(a -> fcmTokenRepository.deleteById(a.getId()));
-        }
-        return new SendResult(resp.getSuccessCount(), resp.getFailureCount(), toDelete);
+        FcmBatchSender.Result result = fcmBatchSender.send(tokens, title, body, Map.of());
+        return new SendResult(result.successCount(), result.failureCount(), result.removedTokens());
     }
 
     /** 멱등 저장/갱신: 동일 토큰이면 스킵, 타 유저 소유면 재할당 */
@@ -111,23 +79,28 @@ public class FCMService {
         if (existing.isPresent()) {
             Alarm a = existing.get();
             if (!a.getUser().getId().equals(userId)) {
+                fcmTokenCache.evict(a.getUser().getId());
                 a.setUser(user);
                 fcmTokenRepository.save(a);
+                fcmTokenCache.evict(userId);
             }
             return; // 멱등
         }
         Alarm newAlarm = Alarm.builder().user(user).token(token).build();
         fcmTokenRepository.save(newAlarm);
+        fcmTokenCache.evict(userId);
     }
 
     @Transactional
     public void deleteToken(Long userId, String token) {
         fcmTokenRepository.deleteByUserIdAndToken(userId, token);
+        fcmTokenCache.evict(userId);
     }
 
     @Transactional
     public void deleteAllTokens(Long userId) {
         fcmTokenRepository.deleteByUserId(userId);
+        fcmTokenCache.evict(userId);
     }
 
     @Transactional
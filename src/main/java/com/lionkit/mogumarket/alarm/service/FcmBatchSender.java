@@ -0,0 +1,171 @@
+package com.lionkit.mogumarket.alarm.service;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import com.google.firebase.messaging.WebpushConfig;
+import com.google.firebase.messaging.WebpushNotification;
+import com.lionkit.mogumarket.alarm.repository.FcmTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FCM 대량 전송 파이프라인.
+ * - 여러 사용자의 토큰을 모아 500개(FCM 멀티캐스트 한도) 단위로 묶고, sendEachForMulticastAsync 로 비동기 전송
+ * - 동시 전송 배치 수는 세마포어로 제한 (노드 전체 공유)
+ * - 만료/무효 토큰은 전송 완료 후 한 번에 삭제
+ */
+@Slf4j
+@Component
+public class FcmBatchSender {
+
+    /** FCM 멀티캐스트 1회 최대 토큰 수 */
+    public static final int MAX_TOKENS_PER_MULTICAST = 500;
+
+    private final FcmTokenRepository fcmTokenRepository;
+    private final FcmTokenCache fcmTokenCache;
+    private final FcmDispatchStats stats;
+    private final Semaphore inFlight;
+
+    @Value("${fcm.dispatch.acquire-timeout-ms:30000}")
+    private long acquireTimeoutMs;
+
+    public FcmBatchSender(FcmTokenRepository fcmTokenRepository,
+                          FcmTokenCache fcmTokenCache,
+                          FcmDispatchStats stats,
+                          @Value("${fcm.dispatch.max-in-flight:8}") int maxInFlight) {
+        this.fcmTokenRepository = fcmTokenRepository;
+        this.fcmTokenCache = fcmTokenCache;
+        this.stats = stats;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /** 전송 결과 요약 */
+    public record Result(int batches, int successCount, int failureCount, List<String> removedTokens) {}
+
+    /**
+     * 토큰 전체에 같은 메시지를 전송하고 완료까지 대기합니다. (호출 스레드는 요청 스레드가 아니어야 함)
+     */
+    public Result send(Collection<String> tokens, String title, String body, Map<String, String> data) {
+        List<String> unique = new ArrayList<>(new LinkedHashSet<>(tokens));
+        if (unique.isEmpty()) return new Result(0, 0, 0, List.of());
+
+        long startedAt = System.nanoTime();
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger failure = new AtomicInteger();
+        ConcurrentLinkedQueue<String> dead = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int from = 0; from < unique.size(); from += MAX_TOKENS_PER_MULTICAST) {
+            List<String> chunk = unique.subList(from, Math.min(from + MAX_TOKENS_PER_MULTICAST, unique.size()));
+            futures.add(sendChunk(chunk, title, body, data, success, failure, dead));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        List<String> removed = new ArrayList<>(dead);
+        if (!removed.isEmpty()) {
+            fcmTokenRepository.deleteByTokenIn(removed);
+            fcmTokenCache.evictTokens(removed);
+        }
+
+        stats.record(futures.size(), unique.size(), success.get(), failure.get(), removed.size(), System.nanoTime() - startedAt);
+        return new Result(futures.size(), success.get(), failure.get(), removed);
+    }
+
+    private CompletableFuture<Void> sendChunk(List<String> chunk, String title, String body, Map<String, String> data,
+                                              AtomicInteger success, AtomicInteger failure, ConcurrentLinkedQueue<String> dead) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            if (!inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                failure.addAndGet(chunk.size());
+                log.warn("[FCM] dispatch saturated, chunk dropped. tokens={}", chunk.size());
+                done.complete(null);
+                return done;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.addAndGet(chunk.size());
+            done.complete(null);
+            return done;
+        }
+
+        ApiFuture<BatchResponse> future;
+        try {
+            future = FirebaseMessaging.getInstance().sendEachForMulticastAsync(buildMessage(chunk, title, body, data));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failure.addAndGet(chunk.size());
+            log.warn("[FCM] multicast submit failed. tokens={}, reason={}", chunk.size(), e.getMessage());
+            done.complete(null);
+            return done;
+        }
+
+        ApiFutures.addCallback(future, new ApiFutureCallback<>() {
+            @Override
+            public void onSuccess(BatchResponse resp) {
+                inFlight.release();
+                success.addAndGet(resp.getSuccessCount());
+                failure.addAndGet(resp.getFailureCount());
+                List<SendResponse> responses = resp.getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    SendResponse r = responses.get(i);
+                    if (!r.isSuccessful() && r.getException() != null && isDeadToken(r.getException().getMessagingErrorCode())) {
+                        dead.add(chunk.get(i));
+                    }
+                }
+                done.complete(null);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                inFlight.release();
+                failure.addAndGet(chunk.size());
+                log.warn("[FCM] multicast failed. tokens={}, reason={}", chunk.size(), t.getMessage());
+                done.complete(null);
+            }
+        }, MoreExecutors.directExecutor());
+        return done;
+    }
+
+    private static boolean isDeadToken(MessagingErrorCode code) {
+        return MessagingErrorCode.UNREGISTERED.equals(code) || MessagingErrorCode.INVALID_ARGUMENT.equals(code);
+    }
+
+    private static MulticastMessage buildMessage(List<String> tokens, String title, String body, Map<String, String> data) {
+        WebpushNotification webpushNotification = WebpushNotification.builder()
+                .setTitle(title)
+                .setBody(body)
+                .setIcon("https://your.cdn/icon-192.png")
+                .build();
+
+        WebpushConfig webpush = WebpushConfig.builder()
+                .putHeader("TTL", "3600")
+                .setNotification(webpushNotification)
+                .putData("click_action", "/notifications")
+                .build();
+
+        MulticastMessage.Builder builder = MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .setWebpushConfig(webpush);
+        if (data != null && !data.isEmpty()) builder.putAllData(data);
+        return builder.build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.lionkit.mogumarket.alarm.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** FCM 대량 전송 통계 (누적) */
+@Component
+public class FcmDispatchStats {
+
+    private final AtomicLong dispatches = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong tokens = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong removedTokens = new AtomicLong();
+    /** 마지막 전송의 처리량(토큰/초) */
+    private volatile double lastTokensPerSecond;
+
+    void record(int batchCount, int tokenCount, int successCount, int failureCount, int removedCount, long elapsedNanos) {
+        dispatches.incrementAndGet();
+        batches.addAndGet(batchCount);
+        tokens.addAndGet(tokenCount);
+        succeeded.addAndGet(successCount);
+        failed.addAndGet(failureCount);
+        removedTokens.addAndGet(removedCount);
+        lastTokensPerSecond = elapsedNanos > 0 ? tokenCount * 1_000_000_000d / elapsedNanos : 0;
+    }
+
+    public long dispatches() { return dispatches.get(); }
+    public long batches() { return batches.get(); }
+    public long tokens() { return tokens.get(); }
+    public long succeeded() { return succeeded.get(); }
+    public long failed() { return failed.get(); }
+    public long removedTokens() { return removedTokens.get(); }
+    public double lastTokensPerSecond() { return lastTokensPerSecond; }
+}
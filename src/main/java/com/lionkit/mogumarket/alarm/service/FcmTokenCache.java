@@ -0,0 +1,131 @@
+package com.lionkit.mogumarket.alarm.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.lionkit.mogumarket.alarm.repository.FcmTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * userId → FCM 토큰 목록 인프로세스 캐시.
+ * - 미스는 IN 쿼리(query-chunk 단위)로 한 번에 채우며, 토큰이 없는 사용자도 빈 목록으로 캐시합니다.
+ * - 토큰 저장/삭제/만료 정리 시 해당 사용자를 즉시 + 커밋 후 한 번 더 evict 합니다.
+ * - 다른 노드의 변경은 TTL 로만 반영되므로 TTL 은 짧게 유지합니다.
+ * - Caffeine(크기 제한 + 쓰기 후 만료). 항목이 만료/축출/교체되면 removal listener 가 역색인도 정리합니다.
+ */
+@Component
+public class FcmTokenCache {
+
+    private final FcmTokenRepository fcmTokenRepository;
+
+    @Value("${fcm.token-cache.query-chunk:1000}")
+    private int queryChunk;
+
+    private final Cache<Long, List<String>> byUser;
+    /** 만료 토큰 정리 시 소유자를 찾기 위한 역색인 */
+    private final Map<String, Long> ownerByToken = new ConcurrentHashMap<>();
+    /** evict 가 일어나면 증가. 조회 도중 evict 가 끼면 그 결과는 캐시하지 않습니다. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public FcmTokenCache(FcmTokenRepository fcmTokenRepository,
+                         @Value("${fcm.token-cache.ttl-ms:600000}") long ttlMs,
+                         @Value("${fcm.token-cache.max-users:100000}") long maxUsers) {
+        this.fcmTokenRepository = fcmTokenRepository;
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .executor(Runnable::run) // 역색인 정리를 호출 스레드에서 바로 (put 직후 색인과 순서 보장)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+
+    /** 토큰이 있는 사용자만 담아 반환 */
+    public Map<Long, List<String>> tokensOf(Collection<Long> userIds) {
+        Map<Long, List<String>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long userId : new LinkedHashSet<>(userIds)) {
+            List<String> cached = byUser.getIfPresent(userId);
+            if (cached != null) {
+                if (!cached.isEmpty()) result.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        for (int from = 0; from < missing.size(); from += queryChunk) {
+            List<Long> chunk = missing.subList(from, Math.min(from + queryChunk, missing.size()));
+            long gen = generation.get();
+
+            Map<Long, List<String>> loaded = new HashMap<>();
+            for (FcmTokenRepository.UserToken row : fcmTokenRepository.findTokensByUserIdIn(chunk)) {
+                loaded.computeIfAbsent(row.getUserId(), k -> new ArrayList<>()).add(row.getToken());
+            }
+
+            boolean cacheable = generation.get() == gen;
+            for (Long userId : chunk) {
+                List<String> tokens = List.copyOf(loaded.getOrDefault(userId, List.of()));
+                if (!tokens.isEmpty()) result.put(userId, tokens);
+                if (cacheable) put(userId, tokens);
+            }
+        }
+        return result;
+    }
+
+    public List<String> tokensOf(Long userId) {
+        return tokensOf(List.of(userId)).getOrDefault(userId, List.of());
+    }
+
+    /** 사용자 토큰 변경 시 호출 (트랜잭션 안이면 커밋 후 한 번 더) */
+    public void evict(Long userId) {
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    /** 삭제된 토큰의 소유자 캐시 제거 */
+    public void evictTokens(Collection<String> tokens) {
+        for (String token : tokens) {
+            Long owner = ownerByToken.get(token);
+            if (owner != null) evictNow(owner);
+        }
+    }
+
+    private void put(Long userId, List<String> tokens) {
+        byUser.put(userId, tokens);
+        tokens.forEach(t -> ownerByToken.put(t, userId));
+    }
+
+    private void evictNow(Long userId) {
+        generation.incrementAndGet();
+        byUser.invalidate(userId);
+    }
+
+    /** 제거된 목록의 토큰 중 현재 목록(교체된 경우)에 없는 것만 역색인에서 제거 */
+    private void onRemoval(Long userId, List<String> tokens, RemovalCause cause) {
+        if (userId == null || tokens == null) return;
+        List<String> current = cause == RemovalCause.REPLACED ? byUser.getIfPresent(userId) : null;
+        for (String t : tokens) {
+            if (current == null || !current.contains(t)) ownerByToken.remove(t, userId);
+        }
+    }
+}
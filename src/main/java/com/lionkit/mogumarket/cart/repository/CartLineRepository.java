@@ -4,6 +4,7 @@ import com.lionkit.mogumarket.cart.entity.CartLine;
 import com.lionkit.mogumarket.cart.enums.PurchaseRoute;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -23,4 +24,8 @@ public interface CartLineRepository extends JpaRepository<CartLine, Long> {
 
     void deleteAllByCart_User_Id(Long userId);
 
+    /** 상품을 특정 경로로 장바구니에 담아 둔 사용자 (공구 관심 사용자) */
+    @Query("select distinct l.cart.user.id from CartLine l where l.product.id = :productId and l.route = :route")
+    List<Long> findUserIdsByProductIdAndRoute(@Param("productId") Long productId, @Param("route") PurchaseRoute route);
+
 }
@@ -12,8 +12,8 @@ import com.lionkit.mogumarket.cart.repository.CartRepository;
 import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
 import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
-import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
-import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyStageCache;
 import com.lionkit.mogumarket.product.entity.Product;
 import com.lionkit.mogumarket.product.repository.ProductRepository;
 import com.lionkit.mogumarket.user.entity.User;
@@ -35,7 +35,7 @@ public class CartService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
 
-    private final GroupBuyStageRepository stageRepository;
+    private final GroupBuyStageCache stageCache;
 
     /**
      * cart 를 생성합니다
@@ -70,9 +70,28 @@ public class CartService {
     @Transactional(readOnly = true)
     public List<CartLineResponse> list(Long userId) {
         List<CartLine> lines = cartLineRepository.findAllWithProductAndGroupBuyByCartUserId(userId);
-        return lines.stream()
-                .map(line -> CartLineResponse.of(line, calcApplicableUnitPrice(line)))
-                .toList();
+        return price(lines);
+    }
+
+    /**
+     * 장바구니 일괄 가격 계산
+     * - 공구 라인의 단계 테이블을 한 번에 가져온 뒤(캐시 또는 쿼리 1회) 한 번의 순회로 단가를 계산합니다.
+     */
+    private List<CartLineResponse> price(Collection<CartLine> lines) {
+        Set<GroupBuy> groupBuys = new HashSet<>();
+        for (CartLine line : lines) {
+            GroupBuy gb = line.getProduct().getGroupBuy();
+            if (line.getRoute() != PurchaseRoute.NORMAL && gb != null) groupBuys.add(gb);
+        }
+        Map<Long, GroupBuyStageTable> stagesByGb = groupBuys.isEmpty()
+                ? Collections.emptyMap()
+                : stageCache.getAll(groupBuys);
+
+        List<CartLineResponse> result = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            result.add(CartLineResponse.of(line, calcApplicableUnitPrice(line, stagesByGb)));
+        }
+        return result;
     }
 
     /**
@@ -150,14 +169,14 @@ public class CartService {
 
         // 2) 제품 일괄 유효성 검증
         List<Long> productIds = new ArrayList<>(desired.keySet());
-        Map<Long, Product> productById = productRepository.findAllById(productIds)
+        Map<Long, Product> productById = productRepository.findAllWithGroupBuyByIdIn(productIds)
                 .stream().collect(Collectors.toMap(Product::getId, it -> it));
         if (productById.size() != desired.size()) {
             throw new BusinessException(ExceptionType.PRODUCT_NOT_FOUND);
         }
 
         // 3)  상품ID & CartLine 형태의 맵을 생성
-        List<CartLine> existing = cartLineRepository.findAllByCart_User_Id(userId);
+        List<CartLine> existing = cartLineRepository.findAllWithProductAndGroupBuyByCartUserId(userId);
         Map<Long, Map<PurchaseRoute, CartLine>> existingMap = new HashMap<>();
         for (CartLine cl : existing) {
             existingMap
@@ -166,7 +185,8 @@ public class CartService {
         }
 
 
-        // 4) 적용
+        // 4) 적용 (최종 라인 목록을 메모리에서 함께 유지)
+        List<CartLine> result = new ArrayList<>(existing);
         for (Map.Entry<Long, Map<PurchaseRoute, Double>> e : desired.entrySet()) {
             Long productId = e.getKey();
             Product p = productById.get(productId);
@@ -181,7 +201,10 @@ public class CartService {
                 CartLine cur = curByRoute.get(route);
 
                 if (qty == 0d) {                 // 삭제
-                    if (cur != null) cartLineRepository.delete(cur);
+                    if (cur != null) {
+                        cartLineRepository.delete(cur);
+                        result.remove(cur);
+                    }
                     continue;
                 }
 
@@ -194,13 +217,15 @@ public class CartService {
                             .build();
                     cart.addLine(line);
                     cartLineRepository.save(line);
+                    result.add(line);
                 } else {                          // 변경
                     cur.change(qty);
                 }
             }
         }
 
-        return list(userId);
+        // 5) 메모리상 최종 라인으로 바로 응답 (재조회 없음)
+        return price(result);
     }
 
 
@@ -210,7 +235,7 @@ public class CartService {
      * - 공구 상품이면 현재 단계의 appliedUnitPrice 사용(스냅샷 기반)
      * - 일반 구매 상품이면 일반가(originalPricePerBaseUnit) 사용
      */
-    private double calcApplicableUnitPrice(CartLine line) {
+    private double calcApplicableUnitPrice(CartLine line, Map<Long, GroupBuyStageTable> stagesByGb) {
         Product p = line.getProduct();
 
         // NORMAL(즉시구매): 일반가
@@ -224,11 +249,10 @@ public class CartService {
 
 
         double curQty = gb.getCurrentQty();
-        GroupBuyStage cur = stageRepository
-                .findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(gb, curQty)
-                .orElse(null);
+        GroupBuyStageTable stages = stagesByGb.get(gb.getId());
+        int cur = (stages != null) ? stages.indexAt(curQty) : -1;
 
-        if (cur != null) return cur.getAppliedUnitPrice();
+        if (cur >= 0) return stages.appliedUnitPrice(cur);
 
         // 정책에선 없다고 보지 않지만, 방어 로직: 공구가 없다면 공구 원가로 폴백
         return gb.getBasePricePerBaseUnitSnapshot();
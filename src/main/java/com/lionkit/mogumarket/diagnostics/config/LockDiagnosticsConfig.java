@@ -0,0 +1,38 @@
+package com.lionkit.mogumarket.diagnostics.config;
+
+import com.lionkit.mogumarket.diagnostics.service.LockDiagnostics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * 모든 JPA 리포지토리 프록시에 락 진단 인터셉터를 붙입니다. (lock.diagnostics.enabled=false 로 끔)
+ * 락 종류 이름은 엔티티 이름의 snake_case (product, group_buy, point)
+ */
+@Configuration
+@ConditionalOnProperty(name = "lock.diagnostics.enabled", havingValue = "true", matchIfMissing = true)
+public class LockDiagnosticsConfig {
+
+    @Bean
+    public static BeanPostProcessor lockDiagnosticsRepositoryPostProcessor(ObjectProvider<LockDiagnostics> diagnostics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, info) ->
+                                    proxyFactory.addAdvice(new LockDiagnosticsInterceptor(
+                                            lockType(info.getDomainType()), diagnostics))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static String lockType(Class<?> domainType) {
+        return domainType.getSimpleName().replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
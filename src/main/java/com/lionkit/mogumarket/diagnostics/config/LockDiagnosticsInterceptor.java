@@ -0,0 +1,49 @@
+package com.lionkit.mogumarket.diagnostics.config;
+
+import com.lionkit.mogumarket.diagnostics.service.LockDiagnostics;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+/**
+ * 리포지토리의 *ForUpdate* 메서드 호출을 감싸 락 획득(쿼리 반환까지) 시간을 기록합니다.
+ * 첫 번째 인자를 행 식별자로 사용합니다. (Product/GroupBuy 는 id, Point 는 userId)
+ */
+class LockDiagnosticsInterceptor implements MethodInterceptor {
+
+    private final String type;
+    private final ObjectProvider<LockDiagnostics> diagnostics;
+
+    LockDiagnosticsInterceptor(String type, ObjectProvider<LockDiagnostics> diagnostics) {
+        this.type = type;
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!invocation.getMethod().getName().contains("ForUpdate")) return invocation.proceed();
+
+        LockDiagnostics d = diagnostics.getIfAvailable();
+        if (d == null) return invocation.proceed();
+
+        Object[] args = invocation.getArguments();
+        Object rowId = args.length > 0 ? args[0] : null;
+        String blockedBy = d.holderOf(type, rowId);
+
+        long startedAt = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            d.record(type, rowId, System.nanoTime() - startedAt, "acquired", blockedBy);
+            return result;
+        } catch (LockTimeoutException | PessimisticLockException | PessimisticLockingFailureException e) {
+            d.record(type, rowId, System.nanoTime() - startedAt, "timeout", blockedBy);
+            throw e;
+        } catch (RuntimeException e) {
+            d.record(type, rowId, System.nanoTime() - startedAt, "error", blockedBy);
+            throw e;
+        }
+    }
+}
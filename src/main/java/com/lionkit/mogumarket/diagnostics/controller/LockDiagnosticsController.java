@@ -0,0 +1,30 @@
+package com.lionkit.mogumarket.diagnostics.controller;
+
+import com.lionkit.mogumarket.diagnostics.dto.response.LockDiagnosticsResponse;
+import com.lionkit.mogumarket.diagnostics.service.LockDiagnostics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/locks")
+@Tag(name = "관리자 API", description = "비관적 락 경합 진단")
+public class LockDiagnosticsController {
+
+    private final LockDiagnostics lockDiagnostics;
+
+    @GetMapping
+    @Operation(
+            summary = "행 락 경합 진단",
+            description = "락 종류별 대기 시간/타임아웃, 경합 상위 행(top-K), 현재 보유 중인 락, 최근 경합 대기(대기자/보유자)를 조회합니다."
+    )
+    public ResponseEntity<LockDiagnosticsResponse> getLocks(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(lockDiagnostics.snapshot(Math.max(1, Math.min(top, 200))));
+    }
+}
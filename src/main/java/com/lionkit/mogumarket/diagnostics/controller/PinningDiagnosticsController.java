@@ -0,0 +1,32 @@
+package com.lionkit.mogumarket.diagnostics.controller;
+
+import com.lionkit.mogumarket.diagnostics.dto.response.PinningDiagnosticsResponse;
+import com.lionkit.mogumarket.diagnostics.service.VirtualThreadPinningMonitor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/threads/pinned")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Tag(name = "관리자 API", description = "가상 스레드 pinning 진단")
+public class PinningDiagnosticsController {
+
+    private final VirtualThreadPinningMonitor pinningMonitor;
+
+    @GetMapping
+    @Operation(
+            summary = "가상 스레드 pinning 진단",
+            description = "캐리어 스레드를 붙잡은 구간(synchronized/JDBC)을 발생 지점별 누적 시간 순으로 조회합니다."
+    )
+    public ResponseEntity<PinningDiagnosticsResponse> getPinned(@RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(pinningMonitor.snapshot(Math.max(1, Math.min(top, 200))));
+    }
+}
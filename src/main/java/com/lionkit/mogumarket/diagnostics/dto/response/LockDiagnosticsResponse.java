@@ -0,0 +1,26 @@
+package com.lionkit.mogumarket.diagnostics.dto.response;
+
+import java.util.List;
+
+/** 비관적 락 진단 스냅샷 */
+public record LockDiagnosticsResponse(
+        List<TypeSummary> types,
+        List<HotRow> hotRows,
+        List<HeldLock> heldLocks,
+        List<ContendedWait> recentWaits
+) {
+
+    /** 락 종류별 누적 (대기 시간 단위 ms) */
+    public record TypeSummary(String type, long acquired, long contended, long timeouts,
+                              double avgWaitMs, double maxWaitMs) {}
+
+    /** 경합 상위 행 (sampled 는 샘플링된 획득 수, 감쇠 적용) */
+    public record HotRow(String type, String rowId, long sampled, long contended, double totalWaitMs) {}
+
+    /** 현재 트랜잭션이 보유 중인 행 락 */
+    public record HeldLock(String type, String rowId, String thread, long heldMs) {}
+
+    /** 경합 대기 1건: waiter 가 blockedBy 가 보유한 행을 waitMs 동안 기다림 */
+    public record ContendedWait(String type, String rowId, long waitMs, String outcome,
+                                String waiter, String blockedBy, long at) {}
+}
@@ -0,0 +1,19 @@
+package com.lionkit.mogumarket.diagnostics.dto.response;
+
+import java.util.List;
+
+/** 가상 스레드 pinning 진단 스냅샷 */
+public record PinningDiagnosticsResponse(
+        long totalPinned,
+        double totalPinnedMs,
+        List<PinnedSite> sites
+) {
+
+    /**
+     * pinning 발생 지점별 누적
+     * @param category jdbc(드라이버/커넥션 풀 구간) / monitor(그 외 synchronized, native 프레임)
+     * @param stack 대표 스택 (상위 프레임 일부)
+     */
+    public record PinnedSite(String site, String category, long count, double totalMs, double maxMs,
+                             List<String> stack) {}
+}
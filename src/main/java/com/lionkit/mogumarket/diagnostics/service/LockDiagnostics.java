@@ -0,0 +1,213 @@
+package com.lionkit.mogumarket.diagnostics.service;
+
+import com.lionkit.mogumarket.diagnostics.dto.response.LockDiagnosticsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 비관적 행 락(SELECT ... FOR UPDATE) 진단.
+ * - 락 종류(product / group_buy / point)별 획득 대기 시간, 타임아웃 수
+ * - 행별 획득/경합 횟수 (경합은 전수, 나머지는 sample-rate 로 샘플링) → 경합 상위 K 행
+ * - 현재 락 보유자(스레드, 보유 시간)와 최근 경합 대기 기록(누가 누구를 기다렸는지)
+ */
+@Slf4j
+@Component
+public class LockDiagnostics {
+
+    private final MeterRegistry registry;
+
+    /** 락 종류별 누적 */
+    private final Map<String, TypeStat> types = new ConcurrentHashMap<>();
+    /** "type:id" → 행별 누적 (decay 주기마다 절반으로 감쇠) */
+    private final Map<String, RowStat> rows = new ConcurrentHashMap<>();
+    /** "type:id" → 현재 보유자 (트랜잭션 종료 시 제거) */
+    private final Map<String, Holder> holders = new ConcurrentHashMap<>();
+    /** 최근 경합 대기 (최대 recent-size 건) */
+    private final Deque<LockDiagnosticsResponse.ContendedWait> recent = new ArrayDeque<>();
+
+    @Value("${lock.diagnostics.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${lock.diagnostics.contended-threshold-ms:5}")
+    private long contendedThresholdMs;
+
+    @Value("${lock.diagnostics.slow-log-ms:1000}")
+    private long slowLogMs;
+
+    @Value("${lock.diagnostics.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${lock.diagnostics.recent-size:200}")
+    private int recentSize;
+
+    public LockDiagnostics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private record Holder(String thread, long acquiredAtNanos) {}
+
+    private static final class TypeStat {
+        final LongAdder acquired = new LongAdder();
+        final LongAdder contended = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+    }
+
+    private static final class RowStat {
+        final LongAdder sampled = new LongAdder();
+        final LongAdder contended = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+    }
+
+    /** 락 획득 직전의 보유자 (대기 원인 기록용). 없으면 null */
+    public String holderOf(String type, Object rowId) {
+        Holder h = holders.get(key(type, rowId));
+        return h == null ? null : h.thread();
+    }
+
+    /**
+     * 락 획득 시도 1회 기록.
+     * @param blockedBy 획득 시도 시점의 보유 스레드 (holderOf 결과)
+     * @param outcome acquired / timeout / error
+     */
+    public void record(String type, Object rowId, long waitNanos, String outcome, String blockedBy) {
+        Timer.builder("db.lock.wait")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+
+        TypeStat ts = types.computeIfAbsent(type, t -> new TypeStat());
+        boolean contended = waitNanos >= TimeUnit.MILLISECONDS.toNanos(contendedThresholdMs) || !"acquired".equals(outcome);
+        if ("acquired".equals(outcome)) ts.acquired.increment();
+        if ("timeout".equals(outcome)) ts.timeouts.increment();
+        if (contended) ts.contended.increment();
+        ts.waitNanos.add(waitNanos);
+        ts.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+
+        if (rowId != null && (contended || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            String key = key(type, rowId);
+            RowStat rs = rows.get(key);
+            if (rs == null && rows.size() < maxRows) rs = rows.computeIfAbsent(key, k -> new RowStat());
+            if (rs != null) {
+                rs.sampled.increment();
+                if (contended) rs.contended.increment();
+                rs.waitNanos.add(waitNanos);
+            }
+        }
+
+        if (contended) {
+            long waitMs = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+            String waiter = Thread.currentThread().getName();
+            synchronized (recent) {
+                recent.addFirst(new LockDiagnosticsResponse.ContendedWait(
+                        type, rowId == null ? null : rowId.toString(), waitMs, outcome, waiter, blockedBy, System.currentTimeMillis()));
+                while (recent.size() > recentSize) recent.removeLast();
+            }
+            if (waitMs >= slowLogMs) {
+                log.warn("[LockDiagnostics] slow lock {}:{} waited={}ms outcome={} waiter={} blockedBy={}",
+                        type, rowId, waitMs, outcome, waiter, blockedBy);
+            }
+        }
+
+        if ("acquired".equals(outcome) && rowId != null) trackHolder(key(type, rowId));
+    }
+
+    /** 락은 트랜잭션 종료까지 유지되므로 종료 시점에 보유자에서 제거 */
+    private void trackHolder(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        Holder holder = new Holder(Thread.currentThread().getName(), System.nanoTime());
+        holders.put(key, holder);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                holders.remove(key, holder);
+            }
+        });
+    }
+
+    public LockDiagnosticsResponse snapshot(int topK) {
+        List<LockDiagnosticsResponse.TypeSummary> typeSummaries = types.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> {
+                    TypeStat s = e.getValue();
+                    long attempts = s.acquired.sum() + s.timeouts.sum();
+                    double avgMs = attempts == 0 ? 0 : s.waitNanos.sum() / 1e6 / attempts;
+                    return new LockDiagnosticsResponse.TypeSummary(
+                            e.getKey(), s.acquired.sum(), s.contended.sum(), s.timeouts.sum(),
+                            avgMs, s.maxWaitNanos.get() / 1e6);
+                })
+                .toList();
+
+        List<LockDiagnosticsResponse.HotRow> hot = rows.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, RowStat>>comparingLong(e -> e.getValue().contended.sum())
+                        .thenComparingLong(e -> e.getValue().waitNanos.sum())
+                        .reversed())
+                .limit(topK)
+                .map(e -> {
+                    String[] parts = e.getKey().split(":", 2);
+                    RowStat s = e.getValue();
+                    return new LockDiagnosticsResponse.HotRow(parts[0], parts[1],
+                            s.sampled.sum(), s.contended.sum(), s.waitNanos.sum() / 1e6);
+                })
+                .toList();
+
+        long now = System.nanoTime();
+        List<LockDiagnosticsResponse.HeldLock> held = holders.entrySet().stream()
+                .map(e -> {
+                    String[] parts = e.getKey().split(":", 2);
+                    return new LockDiagnosticsResponse.HeldLock(parts[0], parts[1], e.getValue().thread(),
+                            TimeUnit.NANOSECONDS.toMillis(now - e.getValue().acquiredAtNanos()));
+                })
+                .sorted(Comparator.comparingLong(LockDiagnosticsResponse.HeldLock::heldMs).reversed())
+                .limit(topK)
+                .toList();
+
+        List<LockDiagnosticsResponse.ContendedWait> waits;
+        synchronized (recent) {
+            waits = new ArrayList<>(recent);
+        }
+        return new LockDiagnosticsResponse(typeSummaries, hot, held, waits);
+    }
+
+    /** 행별 누적을 절반으로 감쇠해 최근 경합이 상위에 오도록 유지 */
+    @Scheduled(fixedDelayString = "${lock.diagnostics.decay-ms:60000}")
+    public void decay() {
+        rows.entrySet().removeIf(e -> {
+            RowStat s = e.getValue();
+            halve(s.sampled);
+            halve(s.contended);
+            halve(s.waitNanos);
+            return s.sampled.sum() == 0 && s.contended.sum() == 0;
+        });
+    }
+
+    private static void halve(LongAdder adder) {
+        long v = adder.sum();
+        adder.add(-(v - v / 2));
+    }
+
+    private static String key(String type, Object rowId) {
+        return type + ":" + rowId;
+    }
+}
@@ -0,0 +1,143 @@
+package com.lionkit.mogumarket.diagnostics.service;
+
+import com.lionkit.mogumarket.diagnostics.dto.response.PinningDiagnosticsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 pinning 진단 (spring.threads.virtual.enabled=true 일 때만).
+ * - JFR jdk.VirtualThreadPinned 이벤트를 스트리밍해 발생 지점(첫 애플리케이션 프레임)별로 집계
+ * - synchronized 안에서의 블로킹, 특히 JDBC 드라이버 구간이 캐리어 스레드를 붙잡는지 확인하는 용도
+ * - 메트릭: jvm.threads.virtual.pinned{category}
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.lionkit.mogumarket.";
+    private static final List<String> JDBC_PACKAGES = List.of(
+            "com.mysql.", "com.zaxxer.hikari.", "org.hibernate.", "java.sql.", "org.h2.");
+
+    private final MeterRegistry registry;
+    private final Map<String, SiteStat> sites = new ConcurrentHashMap<>();
+    private final LongAdder totalPinned = new LongAdder();
+    private final LongAdder totalPinnedNanos = new LongAdder();
+    private RecordingStream stream;
+
+    @Value("${threads.pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    @Value("${threads.pinning.slow-log-ms:200}")
+    private long slowLogMs;
+
+    @Value("${threads.pinning.max-sites:1000}")
+    private int maxSites;
+
+    @Value("${threads.pinning.stack-depth:8}")
+    private int stackDepth;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private static final class SiteStat {
+        final String category;
+        final List<String> stack;
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        SiteStat(String category, List<String> stack) {
+            this.category = category;
+            this.stack = stack;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("[VirtualThreadPinningMonitor] started. threshold={}ms", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+
+    void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        List<String> frames = frames(event.getStackTrace());
+        String category = frames.stream().anyMatch(f -> JDBC_PACKAGES.stream().anyMatch(f::startsWith)) ? "jdbc" : "monitor";
+        String site = frames.stream().filter(f -> f.startsWith(APP_PACKAGE)).findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .tag("category", category)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        totalPinned.increment();
+        totalPinnedNanos.add(nanos);
+
+        SiteStat s = sites.get(site);
+        if (s == null && sites.size() < maxSites) {
+            s = sites.computeIfAbsent(site, k -> new SiteStat(category, frames.subList(0, Math.min(stackDepth, frames.size()))));
+        }
+        if (s != null) {
+            s.count.increment();
+            s.nanos.add(nanos);
+            s.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (ms >= slowLogMs) {
+            log.warn("[VirtualThreadPinningMonitor] pinned {}ms category={} site={} stack={}",
+                    ms, category, site, frames.subList(0, Math.min(stackDepth, frames.size())));
+        }
+    }
+
+    public PinningDiagnosticsResponse snapshot(int topK) {
+        List<PinningDiagnosticsResponse.PinnedSite> top = sites.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, SiteStat>>comparingLong(e -> e.getValue().nanos.sum()).reversed())
+                .limit(topK)
+                .map(e -> {
+                    SiteStat s = e.getValue();
+                    return new PinningDiagnosticsResponse.PinnedSite(e.getKey(), s.category, s.count.sum(),
+                            s.nanos.sum() / 1e6, s.maxNanos.get() / 1e6, s.stack);
+                })
+                .toList();
+        return new PinningDiagnosticsResponse(totalPinned.sum(), totalPinnedNanos.sum() / 1e6, top);
+    }
+
+    private static List<String> frames(RecordedStackTrace trace) {
+        if (trace == null) return List.of();
+        return trace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                        + (f.getLineNumber() > 0 ? ":" + f.getLineNumber() : ""))
+                .toList();
+    }
+}
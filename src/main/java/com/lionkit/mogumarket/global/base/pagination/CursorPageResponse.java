@@ -0,0 +1,27 @@
+package com.lionkit.mogumarket.global.base.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 기반 페이지 응답.
+ * - nextCursor 를 다음 요청의 cursor 로 그대로 넘기면 됩니다. (마지막 페이지면 null)
+ * - totalElements 는 withCount=true 로 요청했을 때만 채워집니다. (COUNT 쿼리 생략이 기본)
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+) {
+
+    /**
+     * size + 1 건을 조회한 결과로 페이지 구성. 초과분이 있으면 다음 페이지가 있는 것으로 판단합니다.
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPageResponse<>(List.copyOf(content), next, hasNext, totalElements);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lionkit.mogumarket.global.base.pagination;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * keyset 페이지네이션 커서: 마지막 행의 (createdAt, id) 또는 (id).
+ * 클라이언트에는 불투명한 base64url 문자열로만 노출합니다.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    public static KeysetCursor ofId(Long id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = (createdAt == null ? "" : createdAt.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 비어 있으면 첫 페이지(null), 형식이 잘못되면 INVALID_CURSOR */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep < 0) throw new IllegalArgumentException(raw);
+            String ts = raw.substring(0, sep);
+            return new KeysetCursor(ts.isEmpty() ? null : LocalDateTime.parse(ts), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException(ExceptionType.INVALID_CURSOR);
+        }
+    }
+
+    /** (createdAt, id) 커서인데 createdAt 이 없으면 잘못된 커서 */
+    public static KeysetCursor decodeTimed(String cursor) {
+        KeysetCursor c = decode(cursor);
+        if (c != null && c.createdAt() == null) throw new BusinessException(ExceptionType.INVALID_CURSOR);
+        return c;
+    }
+}
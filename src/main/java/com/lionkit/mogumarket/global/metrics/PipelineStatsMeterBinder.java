@@ -0,0 +1,43 @@
+package com.lionkit.mogumarket.global.metrics;
+
+import com.lionkit.mogumarket.alarm.service.FcmDispatchStats;
+import com.lionkit.mogumarket.groupbuy.scheduler.ClosingSoonStats;
+import com.lionkit.mogumarket.outbox.service.OutboxStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비동기 파이프라인(아웃박스, FCM 전송, 마감 임박 스캔)의 누적 통계를 Prometheus 로 노출
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineStatsMeterBinder implements MeterBinder {
+
+    private final OutboxStats outboxStats;
+    private final FcmDispatchStats fcmStats;
+    private final ClosingSoonStats closingSoonStats;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("outbox.events", outboxStats, OutboxStats::dispatched).tag("result", "dispatched").register(registry);
+        FunctionCounter.builder("outbox.events", outboxStats, OutboxStats::failed).tag("result", "failed").register(registry);
+        FunctionCounter.builder("outbox.events", outboxStats, OutboxStats::dead).tag("result", "dead").register(registry);
+        FunctionCounter.builder("outbox.batches", outboxStats, OutboxStats::batches).register(registry);
+        Gauge.builder("outbox.lag.max", outboxStats, OutboxStats::lastMaxLagMs).baseUnit("milliseconds").register(registry);
+
+        FunctionCounter.builder("fcm.dispatches", fcmStats, FcmDispatchStats::dispatches).register(registry);
+        FunctionCounter.builder("fcm.batches", fcmStats, FcmDispatchStats::batches).register(registry);
+        FunctionCounter.builder("fcm.tokens", fcmStats, FcmDispatchStats::succeeded).tag("result", "success").register(registry);
+        FunctionCounter.builder("fcm.tokens", fcmStats, FcmDispatchStats::failed).tag("result", "failure").register(registry);
+        FunctionCounter.builder("fcm.tokens", fcmStats, FcmDispatchStats::removedTokens).tag("result", "removed").register(registry);
+        Gauge.builder("fcm.throughput", fcmStats, FcmDispatchStats::lastTokensPerSecond).baseUnit("tokens/s").register(registry);
+
+        FunctionCounter.builder("groupbuy.closing_soon.scans", closingSoonStats, ClosingSoonStats::scans).register(registry);
+        FunctionCounter.builder("groupbuy.closing_soon.notified", closingSoonStats, ClosingSoonStats::notified).register(registry);
+        Gauge.builder("groupbuy.closing_soon.lag.max", closingSoonStats, ClosingSoonStats::lastMaxLagMs).baseUnit("milliseconds").register(registry);
+    }
+}
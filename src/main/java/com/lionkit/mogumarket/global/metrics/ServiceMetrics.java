@@ -0,0 +1,108 @@
+package com.lionkit.mogumarket.global.metrics;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 서비스 메서드 계측 공통 헬퍼 (Micrometer)
+ * - 모든 타이머에 outcome(success / rejected / error), exception(BusinessException 은 ExceptionType 이름) 태그를 붙입니다.
+ * - 히스토그램을 함께 내보내 Prometheus 에서 p50/p99 를 계산할 수 있습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    private final MeterRegistry registry;
+
+    public <T> T record(String name, Supplier<T> work) {
+        long startedAt = System.nanoTime();
+        Throwable error = null;
+        try {
+            return work.get();
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            timer(name, tags(error)).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void run(String name, Runnable work) {
+        record(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** 이미 측정한 구간 기록 (스트리밍처럼 Supplier 로 감쌀 수 없는 작업용) */
+    public void recordNanos(String name, long nanos, Throwable error) {
+        timer(name, tags(error)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void count(String name, double amount, String... tags) {
+        registry.counter(name, tags).increment(amount);
+    }
+
+    /** 락 대기와 실제 작업 시간을 나눠 기록하는 측정 구간 (phase=lock_wait / work) */
+    public Split split(String name) {
+        return new Split(name);
+    }
+
+    public final class Split {
+
+        private final String name;
+        private final long startedAt = System.nanoTime();
+        private long lockNanos;
+
+        private Split(String name) {
+            this.name = name;
+        }
+
+        /** 락 획득 구간만 감싸서 대기 시간을 누적 */
+        public <T> T lock(Supplier<T> acquire) {
+            long t0 = System.nanoTime();
+            try {
+                return acquire.get();
+            } finally {
+                lockNanos += System.nanoTime() - t0;
+            }
+        }
+
+        public void success() {
+            finish(null);
+        }
+
+        public void failure(Throwable error) {
+            finish(error);
+        }
+
+        private void finish(Throwable error) {
+            long total = System.nanoTime() - startedAt;
+            Tags tags = tags(error);
+            timer(name, tags.and("phase", "lock_wait")).record(lockNanos, TimeUnit.NANOSECONDS);
+            timer(name, tags.and("phase", "work")).record(Math.max(0, total - lockNanos), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, Tags tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Tags tags(Throwable error) {
+        if (error == null) return Tags.of("outcome", "success", "exception", "none");
+        if (error instanceof BusinessException be) {
+            return Tags.of("outcome", "rejected", "exception", be.getExceptionType().name());
+        }
+        return Tags.of("outcome", "error", "exception", error.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,27 @@
+package com.lionkit.mogumarket.global.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 결과에 맞춰 DB 밖의 상태(캐시/카운터/스케줄)를 움직이기 위한 헬퍼.
+ * 트랜잭션 밖에서 호출되면 즉시 실행합니다.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    /** 커밋된 경우에만 실행 (롤백이면 실행하지 않음) */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.lionkit.mogumarket.groupbuy.config;
+
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyProgressHub;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다중 노드에서 공구 진행 변경을 Redis pub/sub 으로 중계합니다. (group-buy.progress.relay=redis)
+ * 메시지는 공구 ID 뿐이며, 각 노드는 자기 구독자가 있는 공구만 다음 tick 에 조회합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "group-buy.progress.relay", havingValue = "redis")
+public class GroupBuyProgressRelayConfig {
+
+    @Bean
+    public RedisMessageListenerContainer groupBuyProgressListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           GroupBuyProgressHub hub) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> hub.markDirty(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(GroupBuyProgressHub.CHANNEL));
+        return container;
+    }
+}
@@ -1,5 +1,6 @@
 package com.lionkit.mogumarket.groupbuy.controller;
 import com.lionkit.mogumarket.groupbuy.dto.response.GroupBuyStatusResponse;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyProgressHub;
 import com.lionkit.mogumarket.groupbuy.service.GroupBuyService;
 
 import com.lionkit.mogumarket.groupbuy.dto.request.CreateGroupBuyRequest;
@@ -16,9 +17,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/groupbuy")
@@ -27,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class GroupBuyController {
 
     private final GroupBuyService groupBuyService;
+    private final GroupBuyProgressHub progressHub;
 
     @Operation(summary = "공동구매 생성", description = "상품에 대해 공동구매를 생성합니다.")
     @ApiResponses({
@@ -41,7 +45,8 @@ public class GroupBuyController {
                 request.productId(),
                 request.targetQty(),
                 request.maxDiscountPercent(),
-                request.stage() ));
+                request.stage(),
+                request.endAt() ));
     }
 
     @Operation(summary = "공동구매 참여", description = "특정 공동구매에 유저가 수량을 참여합니다.")
@@ -83,4 +88,13 @@ public class GroupBuyController {
     ) {
         return ResponseEntity.ok(groupBuyService.getGroupBuyStatus(groupBuyId));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "공동구매 진행 상황 스트림(SSE)",
+            description = "구독 즉시 현재 상태를 1회 보내고, 이후 누적 수량/단계가 바뀔 때마다 progress 이벤트를 보냅니다. (tick 단위로 병합)")
+    @GetMapping(value = "/{groupBuyId}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgress(
+            @Parameter(description = "공동구매 ID", required = true) @PathVariable Long groupBuyId
+    ) {
+        return progressHub.subscribe(groupBuyId);
+    }
+}
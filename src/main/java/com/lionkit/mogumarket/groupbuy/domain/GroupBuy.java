@@ -7,17 +7,20 @@ import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
 import com.lionkit.mogumarket.product.entity.Product;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate // 일괄 UPDATE 로만 갱신되는 컬럼(마감 임박 알림 시각 등)을 엔티티 flush 가 덮어쓰지 않도록
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "group_buy")
+@Table(name = "group_buy",
+        indexes = @Index(name = "idx_group_buy_status_end_at", columnList = "status, end_at"))
 public class GroupBuy extends BaseEntity {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -53,6 +56,12 @@ public class GroupBuy extends BaseEntity {
     @Version
     private Long version;
 
+    /** 마감 임박 알림 적재 시각 (중복 발송 방지, null 이면 미발송) */
+    private LocalDateTime closingSoonNotifiedAt;
+
+    /** 마감 시각 (수동 마감/만료 일괄 마감). 일괄 마감은 자신이 기록한 값으로 실제 마감한 행을 식별 */
+    private LocalDateTime closedAt;
+
 
     @Builder.Default
     @OneToMany(mappedBy = "groupBuy", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -84,5 +93,6 @@ public class GroupBuy extends BaseEntity {
 
     public void close() {
         this.status = GroupBuyStatus.CLOSED;
+        this.closedAt = LocalDateTime.now();
     }
 }
\ No newline at end of file
@@ -10,7 +10,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "group_buy_stage")
+@Table(name = "group_buy_stage",
+        indexes = @Index(name = "idx_group_buy_stage_group_buy_start_qty", columnList = "group_buy_id, start_qty"))
 public class GroupBuyStage extends BaseEntity {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
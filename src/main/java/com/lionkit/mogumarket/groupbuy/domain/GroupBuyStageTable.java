@@ -0,0 +1,96 @@
+package com.lionkit.mogumarket.groupbuy.domain;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 공구 단계 조회용 불변 테이블.
+ * 단계는 createGroupBuy 이후 변경되지 않으므로, startQty 오름차순 배열을 한 번 만들어 두고 이진 탐색으로 단계를 판정합니다.
+ * (인덱스 i 의 level / startQty / discountPercent / appliedUnitPrice 가 한 단계)
+ */
+public final class GroupBuyStageTable {
+
+    private static final GroupBuyStageTable EMPTY = new GroupBuyStageTable(new int[0], new double[0], new double[0], new double[0]);
+
+    private final int[] levels;
+    private final double[] startQty;
+    private final double[] discountPercent;
+    private final double[] appliedUnitPrice;
+
+    private GroupBuyStageTable(int[] levels, double[] startQty, double[] discountPercent, double[] appliedUnitPrice) {
+        this.levels = levels;
+        this.startQty = startQty;
+        this.discountPercent = discountPercent;
+        this.appliedUnitPrice = appliedUnitPrice;
+    }
+
+    public static GroupBuyStageTable of(List<GroupBuyStage> stages) {
+        if (stages == null || stages.isEmpty()) return EMPTY;
+
+        GroupBuyStage[] sorted = stages.toArray(GroupBuyStage[]::new);
+        Arrays.sort(sorted, Comparator.comparingDouble(GroupBuyStage::getStartQty));
+
+        int n = sorted.length;
+        int[] levels = new int[n];
+        double[] start = new double[n];
+        double[] discount = new double[n];
+        double[] price = new double[n];
+        for (int i = 0; i < n; i++) {
+            levels[i] = sorted[i].getLevel();
+            start[i] = sorted[i].getStartQty();
+            discount[i] = sorted[i].getDiscountPercent();
+            price[i] = sorted[i].getAppliedUnitPrice();
+        }
+        return new GroupBuyStageTable(levels, start, discount, price);
+    }
+
+    public int size() {
+        return levels.length;
+    }
+
+    /** startQty <= qty 인 마지막 단계 인덱스, 없으면 -1 */
+    public int indexAt(double qty) {
+        int lo = 0, hi = startQty.length - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (startQty[mid] <= qty) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /** startQty > qty 인 첫 단계 인덱스, 없으면 -1 */
+    public int nextIndexAfter(double qty) {
+        int next = indexAt(qty) + 1;
+        return next < startQty.length ? next : -1;
+    }
+
+    /** level 에 해당하는 인덱스, 없으면 -1 */
+    public int indexOfLevel(int level) {
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] == level) return i;
+        }
+        return -1;
+    }
+
+    public int level(int index) {
+        return levels[index];
+    }
+
+    public double startQty(int index) {
+        return startQty[index];
+    }
+
+    public double discountPercent(int index) {
+        return discountPercent[index];
+    }
+
+    public double appliedUnitPrice(int index) {
+        return appliedUnitPrice[index];
+    }
+}
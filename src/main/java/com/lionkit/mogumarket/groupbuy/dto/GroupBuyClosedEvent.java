@@ -1,4 +0,0 @@
-package com.lionkit.mogumarket.groupbuy.dto;
-
-public record GroupBuyClosedEvent(Long groupBuyId) {}
-
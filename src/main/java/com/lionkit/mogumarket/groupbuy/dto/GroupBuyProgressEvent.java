@@ -0,0 +1,4 @@
+package com.lionkit.mogumarket.groupbuy.dto;
+
+/** 공구 누적 수량/상태 변경 (커밋 후 진행 스트림 갱신용) */
+public record GroupBuyProgressEvent(Long groupBuyId) {}
@@ -3,6 +3,8 @@ package com.lionkit.mogumarket.groupbuy.dto.request;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 
+import java.time.LocalDateTime;
+
 public record CreateGroupBuyRequest(
 
         @Schema(description = "상품 ID", example = "1")
@@ -16,5 +18,8 @@ public record CreateGroupBuyRequest(
         Double maxDiscountPercent,
 
         @Schema(description = "단계 수(기본 3)", example = "3")
-        @NotNull @Min(1) @Max(10) Integer stage
+        @NotNull @Min(1) @Max(10) Integer stage,
+
+        @Schema(description = "마감 시각(미지정 시 수동 마감)", example = "2025-12-31T18:00:00")
+        @Future LocalDateTime endAt
 ) {}
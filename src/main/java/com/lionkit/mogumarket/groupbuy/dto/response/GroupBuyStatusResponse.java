@@ -2,6 +2,8 @@ package com.lionkit.mogumarket.groupbuy.dto.response;
 
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
 import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
 import lombok.Builder;
 
@@ -13,6 +15,7 @@ public record GroupBuyStatusResponse(
         // 누적/목표
         double totalQuantity,
         double targetQuantity,
+        double progressPercent,         // 0~100
 
         // 현재/다음 단계 정보
         Integer currentStageLevel,      // 없으면 null
@@ -30,4 +33,28 @@ public record GroupBuyStatusResponse(
 
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
         java.time.LocalDateTime lastUpdatedAt // 필요 시 버전/업데이트 표기
-) {}
+) {
+    public static GroupBuyStatusResponse of(GroupBuy gb, GroupBuyStageTable stages) {
+        double total = gb.getCurrentQty();
+        int cur = stages.indexAt(total);
+        int next = stages.nextIndexAfter(total);
+
+        return GroupBuyStatusResponse.builder()
+                .groupBuyId(gb.getId())
+                .status(gb.getStatus())
+                .totalQuantity(total)
+                .targetQuantity(gb.getTargetQty())
+                .progressPercent(gb.getTargetQty() > 0d ? Math.min(100d, total / gb.getTargetQty() * 100d) : 0d)
+                .currentStageLevel(cur >= 0 ? stages.level(cur) : null)
+                .currentStageStartQty(cur >= 0 ? stages.startQty(cur) : null)
+                .currentDiscount(cur >= 0 ? stages.discountPercent(cur) : 0d)
+                .appliedUnitPrice(Math.round(cur >= 0 ? stages.appliedUnitPrice(cur) : gb.getBasePricePerBaseUnitSnapshot()))
+                .nextStageLevel(next >= 0 ? stages.level(next) : null)
+                .nextStageStartQty(next >= 0 ? stages.startQty(next) : null)
+                .remainingToNextStage(next >= 0 ? Math.max(0d, stages.startQty(next) - total) : 0d)
+                .originalUnitPrice(gb.getBasePricePerBaseUnitSnapshot())
+                .maxDiscountPercent(gb.getMaxDiscountPercent())
+                .lastUpdatedAt(gb.getModifiedAt())
+                .build();
+    }
+}
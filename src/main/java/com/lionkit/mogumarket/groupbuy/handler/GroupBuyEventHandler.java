@@ -1,40 +1,93 @@
 package com.lionkit.mogumarket.groupbuy.handler;
 
-import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
-import com.lionkit.mogumarket.groupbuy.dto.GroupBuyClosedEvent;
+import com.lionkit.mogumarket.cart.enums.PurchaseRoute;
+import com.lionkit.mogumarket.cart.repository.CartLineRepository;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyUserRepository;
 import com.lionkit.mogumarket.notification.service.NotificationFacade;
 import com.lionkit.mogumarket.order.repository.OrderLineRepository;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.handler.OutboxEventHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.event.TransactionPhase;
-import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * 공구 아웃박스 이벤트 처리 (디스패처 스레드에서 실행, 요청 스레드와 무관)
+ */
 @Component
 @RequiredArgsConstructor
-public class GroupBuyEventHandler {
+public class GroupBuyEventHandler implements OutboxEventHandler {
 
     private final GroupBuyRepository groupBuyRepository;
     private final OrderLineRepository orderLineRepository;
+    private final GroupBuyUserRepository groupBuyUserRepository;
+    private final CartLineRepository cartLineRepository;
     private final NotificationFacade notificationFacade;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-    public void onClosed(GroupBuyClosedEvent event) {
-        GroupBuy gb = groupBuyRepository.findById(event.groupBuyId())
-                .orElse(null);
-        if (gb == null) return;
+    /** 마감 임박 fan-out 시 한 번에 토큰 조회/전송할 사용자 수 */
+    @Value("${group-buy.closing-soon.fanout-batch:1000}")
+    private int fanoutBatch;
 
-        var userIds = orderLineRepository.findParticipantUserIds(gb);
+    @Override
+    public Set<OutboxEventType> supports() {
+        return Set.of(OutboxEventType.GROUP_BUY_JOINED, OutboxEventType.GROUP_BUY_SUCCESS,
+                OutboxEventType.GROUP_BUY_CLOSED, OutboxEventType.GROUP_BUY_CLOSING_SOON);
+    }
+
+    @Override
+    public void handle(OutboxEventType type, Long groupBuyId, Map<String, String> payload) {
+        String productName = payload.getOrDefault("productName", "");
+
+        switch (type) {
+            case GROUP_BUY_JOINED -> notificationFacade.notifyUsers(
+                    List.of(Long.valueOf(payload.get("userId"))),
+                    "공동구매 참여 완료",
+                    "[" + productName + "]에 " + payload.get("qty") + payload.getOrDefault("unit", "") + " 참여 완료!",
+                    Map.of("event", "GROUPBUY_JOINED", "groupBuyId", String.valueOf(groupBuyId)));
+
+            case GROUP_BUY_SUCCESS -> notifyParticipants(groupBuyId,
+                    "목표 달성! 결제/수령 안내",
+                    "[" + productName + "] 공동구매가 목표를 달성했습니다. 상세 안내를 확인해주세요.",
+                    Map.of("event", "GROUPBUY_SUCCESS", "groupBuyId", String.valueOf(groupBuyId)));
+
+            case GROUP_BUY_CLOSED -> notifyParticipants(groupBuyId,
+                    "공동구매 마감",
+                    "[" + productName + "] 공동구매가 마감되었습니다.",
+                    Map.of("event", "GROUPBUY_CLOSED", "groupBuyId", String.valueOf(groupBuyId)));
+
+            case GROUP_BUY_CLOSING_SOON -> notifyClosingSoon(groupBuyId, Long.valueOf(payload.get("productId")));
+
+            default -> throw new IllegalArgumentException("unsupported type: " + type);
+        }
+    }
+
+    /** 참여자(주문/참여 API) + 공구 경로로 장바구니에 담은 사용자에게 batch 단위로 발송 */
+    private void notifyClosingSoon(Long groupBuyId, Long productId) {
+        LinkedHashSet<Long> recipients = new LinkedHashSet<>(
+                orderLineRepository.findParticipantUserIds(groupBuyRepository.getReferenceById(groupBuyId)));
+        recipients.addAll(groupBuyUserRepository.findUserIdsByGroupBuyId(groupBuyId));
+        recipients.addAll(cartLineRepository.findUserIdsByProductIdAndRoute(productId, PurchaseRoute.GROUP_BUY));
+        if (recipients.isEmpty()) return;
+
+        List<Long> userIds = new ArrayList<>(recipients);
+        for (int from = 0; from < userIds.size(); from += fanoutBatch) {
+            notificationFacade.groupBuyClosingSoon(groupBuyId,
+                    userIds.subList(from, Math.min(from + fanoutBatch, userIds.size())));
+        }
+    }
+
+    private void notifyParticipants(Long groupBuyId, String title, String body, Map<String, String> data) {
+        // 참조만 넘겨 엔티티 로딩 없이 참여자 ID 조회
+        List<Long> userIds = orderLineRepository.findParticipantUserIds(groupBuyRepository.getReferenceById(groupBuyId));
         if (userIds.isEmpty()) return;
 
-        // 여기서 예외가 나도 본 거래에는 영향 없음
-        notificationFacade.notifyUsers(
-                userIds,
-                "공동구매 마감",
-                "[" + gb.getProduct().getName() + "] 공동구매가 마감되었습니다.",
-                Map.of("event","GROUPBUY_CLOSED","groupBuyId", String.valueOf(gb.getId()))
-        );
+        notificationFacade.notifyUsers(userIds, title, body, data);
     }
 }
@@ -10,11 +10,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,4 +40,133 @@ public interface GroupBuyRepository extends JpaRepository<GroupBuy, Long> {
 
 
     Page<GroupBuy> findByStatusAndEndAtAfter(GroupBuyStatus status, LocalDateTime now, Pageable pageable);
-}
\ No newline at end of file
+
+    List<GroupBuy> findByStatusIn(List<GroupBuyStatus> statuses);
+
+    /**
+     * 예약 엔진 write-behind 반영용: 공구 누적 증감 + 목표 달성 상태 전이를 단일 UPDATE 로 처리.
+     * MySQL 은 SET 절을 왼쪽부터 평가하므로 status 를 currentQty 보다 먼저 계산합니다.
+     * (GroupBuy.increaseQty / decreaseQty 와 같은 규칙)
+     */
+    @Modifying
+    @Query("""
+           update GroupBuy g
+           set g.status = case
+                   when g.status = :open and g.currentQty + :delta >= g.targetQty then :success
+                   when g.status = :success and g.currentQty + :delta < g.targetQty then :open
+                   else g.status end,
+               g.currentQty = case when g.currentQty + :delta < 0 then 0 else g.currentQty + :delta end,
+               g.version = g.version + 1
+           where g.id = :id
+           """)
+    int addCurrentQty(@Param("id") Long id,
+                      @Param("delta") double delta,
+                      @Param("open") GroupBuyStatus open,
+                      @Param("success") GroupBuyStatus success);
+
+    /**
+     * 참여 API 용 원자적 누적 증가. OPEN 이고 상품 재고 안에서만 반영되며, 목표 도달 시 같은 UPDATE 에서 SUCCESS 로 전이합니다.
+     * (status 를 currentQty 보다 먼저 계산 - addCurrentQty 와 같은 규칙)
+     * @return 1 이면 반영, 0 이면 공구 없음/OPEN 아님/재고 부족
+     */
+    @Modifying
+    @Query("""
+           update GroupBuy g
+           set g.status = case when g.currentQty + :qty >= g.targetQty then :success else g.status end,
+               g.currentQty = g.currentQty + :qty,
+               g.version = g.version + 1
+           where g.id = :id
+             and g.status = :open
+             and g.currentQty + :qty <= (select p.stock from Product p where p = g.product)
+           """)
+    int participateQty(@Param("id") Long id,
+                       @Param("qty") double qty,
+                       @Param("open") GroupBuyStatus open,
+                       @Param("success") GroupBuyStatus success);
+
+    /**
+     * 예약 엔진 재기동 시 정합성 복구용: 공구 누적 덮어쓰기
+     */
+    @Modifying
+    @Query("update GroupBuy g set g.currentQty = :qty, g.version = g.version + 1 where g.id = :id")
+    int overwriteCurrentQty(@Param("id") Long id, @Param("qty") double qty);
+
+    /**
+     * 만료 휠 적재용: 마감 시각이 until 이전인 공구의 ID/마감 시각만 조회 (status, end_at 인덱스 범위)
+     */
+    @Query("select g.id as id, g.endAt as endAt from GroupBuy g where g.status = :status and g.endAt < :until")
+    List<ExpiryRow> findExpiryRows(@Param("status") GroupBuyStatus status, @Param("until") LocalDateTime until);
+
+    /** 일괄 마감 대상 (아웃박스 알림에 필요한 상품명, 캐시 무효화용 상품 ID 포함) */
+    @Query("""
+           select g.id as id, p.id as productId, p.name as productName
+           from GroupBuy g join g.product p
+           where g.id in :ids and g.status = :status and g.endAt <= :now
+           """)
+    List<ClosingRow> findClosingRows(@Param("ids") Collection<Long> ids,
+                                     @Param("status") GroupBuyStatus status,
+                                     @Param("now") LocalDateTime now);
+
+    /** 만료 공구 일괄 마감. 그 사이 목표를 달성(SUCCESS)했거나 마감 시각이 연장된 공구는 건너뜁니다. */
+    @Modifying
+    @Query("""
+           update GroupBuy g
+           set g.status = :closed, g.closedAt = :closedAt, g.version = g.version + 1
+           where g.id in :ids and g.status = :open and g.endAt <= :now
+           """)
+    int closeExpired(@Param("ids") Collection<Long> ids,
+                     @Param("open") GroupBuyStatus open,
+                     @Param("closed") GroupBuyStatus closed,
+                     @Param("now") LocalDateTime now,
+                     @Param("closedAt") LocalDateTime closedAt);
+
+    /** closeExpired 가 실제로 마감한 행 (그 사이 수동 마감/다른 노드가 마감한 행은 closedAt 이 다름) */
+    @Query("select g.id from GroupBuy g where g.id in :ids and g.status = :status and g.closedAt = :closedAt")
+    List<Long> findIdsByIdInAndStatusAndClosedAt(@Param("ids") Collection<Long> ids,
+                                                 @Param("status") GroupBuyStatus status,
+                                                 @Param("closedAt") LocalDateTime closedAt);
+
+    /**
+     * 마감 임박 알림 대상: (status, end_at) 인덱스 범위 조회 후 미발송 건만, limit 만큼
+     */
+    @Query("""
+           select g.id as id, g.product.id as productId, g.endAt as endAt, g.createdAt as createdAt
+           from GroupBuy g
+           where g.status = :status and g.endAt > :now and g.endAt <= :until
+             and g.closingSoonNotifiedAt is null
+           order by g.endAt asc
+           """)
+    List<ClosingSoonRow> findClosingSoonRows(@Param("status") GroupBuyStatus status,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("until") LocalDateTime until,
+                                             Pageable pageable);
+
+    /** 마감 임박 알림 선점 (이미 선점된 공구는 건너뜀, 다중 노드 안전) */
+    @Modifying
+    @Query("""
+           update GroupBuy g set g.closingSoonNotifiedAt = :now
+           where g.id in :ids and g.closingSoonNotifiedAt is null
+           """)
+    int claimClosingSoon(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select g.id from GroupBuy g where g.id in :ids and g.closingSoonNotifiedAt = :claimedAt")
+    List<Long> findIdsClaimedClosingSoonAt(@Param("ids") Collection<Long> ids, @Param("claimedAt") LocalDateTime claimedAt);
+
+    interface ExpiryRow {
+        Long getId();
+        LocalDateTime getEndAt();
+    }
+
+    interface ClosingSoonRow {
+        Long getId();
+        Long getProductId();
+        LocalDateTime getEndAt();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface ClosingRow {
+        Long getId();
+        Long getProductId();
+        String getProductName();
+    }
+}
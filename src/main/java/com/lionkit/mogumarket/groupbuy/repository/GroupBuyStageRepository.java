@@ -4,6 +4,7 @@ import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,8 @@ public interface GroupBuyStageRepository extends JpaRepository<GroupBuyStage, Lo
     Optional<GroupBuyStage> findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(GroupBuy groupBuy, double qty);
     /** 다음 단계: startQty > qty 중 가장 작은 start */
     Optional<GroupBuyStage> findTopByGroupBuyAndStartQtyGreaterThanOrderByStartQtyAsc(GroupBuy gb, double qty);
+    /** 여러 공구의 단계를 한 번에 (장바구니 일괄 가격 계산용) */
+    List<GroupBuyStage> findByGroupBuyIdIn(Collection<Long> groupBuyIds);
 
 
 }
\ No newline at end of file
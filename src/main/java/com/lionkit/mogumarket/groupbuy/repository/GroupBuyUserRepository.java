@@ -2,6 +2,7 @@ package com.lionkit.mogumarket.groupbuy.repository;
 
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuyUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -25,4 +26,23 @@ public interface GroupBuyUserRepository extends JpaRepository<GroupBuyUser, Long
     Optional<GroupBuyUser> findByGroupBuyIdAndUserId(Long groupBuyId, Long userId);
     long countByGroupBuyId(Long groupBuyId); // 참가자 수 카운트용
 
+    /** 참여 API 로 누적된 수량 합 (주문 라인과 별개로 GroupBuy.currentQty 에 더해짐) */
+    @Query("select coalesce(sum(gbu.totalQty), 0) from GroupBuyUser gbu where gbu.groupBuy.id = :groupBuyId")
+    Double sumTotalQtyByGroupBuyId(@Param("groupBuyId") Long groupBuyId);
+
+    /** 참여 누적 upsert (uk_gb_user 기준, 조회 없이 1회) */
+    @Modifying
+    @Query(value = """
+           insert into group_buy_user (group_buy_id, user_id, total_qty, last_joined_at, created_at, modified_at)
+           values (:groupBuyId, :userId, :qty, current_timestamp, current_timestamp, current_timestamp)
+           on duplicate key update
+               total_qty = total_qty + :qty,
+               last_joined_at = current_timestamp,
+               modified_at = current_timestamp
+           """, nativeQuery = true)
+    int upsertQty(@Param("groupBuyId") Long groupBuyId, @Param("userId") Long userId, @Param("qty") double qty);
+
+    @Query("select distinct gbu.user.id from GroupBuyUser gbu where gbu.groupBuy.id = :groupBuyId")
+    List<Long> findUserIdsByGroupBuyId(@Param("groupBuyId") Long groupBuyId);
+
 }
\ No newline at end of file
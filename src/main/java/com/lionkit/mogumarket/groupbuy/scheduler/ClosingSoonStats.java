@@ -0,0 +1,25 @@
+package com.lionkit.mogumarket.groupbuy.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 마감 임박 알림 적재 통계 (누적) */
+@Component
+public class ClosingSoonStats {
+
+    private final AtomicLong scans = new AtomicLong();
+    private final AtomicLong notified = new AtomicLong();
+    /** 마지막 scan 에서 관측한 최대 지연(알림 구간 진입 → 적재), ms */
+    private final AtomicLong lastMaxLagMs = new AtomicLong();
+
+    void recordScan(int notifiedCount, long maxLagMs) {
+        scans.incrementAndGet();
+        notified.addAndGet(notifiedCount);
+        lastMaxLagMs.set(maxLagMs);
+    }
+
+    public long scans() { return scans.get(); }
+    public long notified() { return notified.get(); }
+    public long lastMaxLagMs() { return lastMaxLagMs.get(); }
+}
@@ -0,0 +1,71 @@
+package com.lionkit.mogumarket.groupbuy.scheduler;
+
+import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 마감 임박 알림.
+ * - lead-minutes 안에 마감되는 OPEN 공구를 (status, end_at) 인덱스 범위로 batch-size 씩 조회
+ * - 조건부 UPDATE 로 선점한 공구만 아웃박스에 적재 → 공구당 1회, 다중 노드 안전
+ * - 실제 발송(참여자/관심 사용자 fan-out)은 아웃박스 핸들러에서
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupBuyClosingSoonScheduler {
+
+    private final GroupBuyRepository groupBuyRepository;
+    private final GroupBuyService groupBuyService;
+    private final ClosingSoonStats stats;
+
+    @Value("${group-buy.closing-soon.lead-minutes:60}")
+    private long leadMinutes;
+
+    @Value("${group-buy.closing-soon.batch-size:200}")
+    private int batchSize;
+
+    /** 한 번의 scan 에서 처리할 최대 batch 수 (나머지는 다음 주기) */
+    @Value("${group-buy.closing-soon.max-batches:10}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${group-buy.closing-soon.poll-ms:30000}")
+    public void scan() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusMinutes(leadMinutes);
+
+        int notified = 0;
+        long maxLag = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<GroupBuyRepository.ClosingSoonRow> rows = groupBuyRepository.findClosingSoonRows(
+                    GroupBuyStatus.OPEN, now, until, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) break;
+
+            List<GroupBuyRepository.ClosingSoonRow> claimed = groupBuyService.markClosingSoon(rows, now);
+            notified += claimed.size();
+            for (GroupBuyRepository.ClosingSoonRow row : claimed) {
+                // 알림 구간 진입 시각 = endAt - lead (구간 안에서 생성된 공구는 생성 시각부터)
+                LocalDateTime due = row.getEndAt().minusMinutes(leadMinutes);
+                if (row.getCreatedAt() != null && row.getCreatedAt().isAfter(due)) due = row.getCreatedAt();
+                long lag = Duration.between(due, now).toMillis();
+                maxLag = Math.max(maxLag, lag);
+            }
+            if (rows.size() < batchSize) break;
+        }
+
+        stats.recordScan(notified, maxLag);
+        if (notified > 0) {
+            log.info("[GroupBuyClosingSoon] queued notifications. count={}, maxLagMs={}", notified, maxLag);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.lionkit.mogumarket.groupbuy.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공구 마감용 해시드 타이밍 휠 (1초 tick).
+ * - 슬롯 = 마감 초 % SLOTS. 한 바퀴(1시간) 이상 남은 항목은 슬롯에 머물다 해당 바퀴에서 만료됩니다.
+ * - 이미 지난 마감은 다음 tick 슬롯에 넣어 즉시 처리합니다.
+ * - 리더 노드에서만 활성화되며, 비활성 상태에서는 schedule 이 무시됩니다.
+ */
+@Component
+public class GroupBuyExpiryWheel {
+
+    static final int SLOTS = 3600;
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, Long>[] slots = new Map[SLOTS];
+    /** groupBuyId → 마감 epoch 초 */
+    private final Map<Long, Long> dueById = new HashMap<>();
+
+    private long cursor;
+    private boolean active;
+
+    public GroupBuyExpiryWheel() {
+        for (int i = 0; i < SLOTS; i++) slots[i] = new HashMap<>();
+    }
+
+    public synchronized void activate(long nowSec) {
+        clear();
+        cursor = nowSec - 1;
+        active = true;
+    }
+
+    public synchronized void deactivate() {
+        clear();
+        active = false;
+    }
+
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    /** 등록/갱신. 마감 시각이 같으면 no-op */
+    public synchronized void schedule(Long groupBuyId, LocalDateTime endAt) {
+        if (!active || endAt == null) return;
+        long due = toEpochSecond(endAt);
+        Long prev = dueById.put(groupBuyId, due);
+        if (prev != null) {
+            if (prev == due) return;
+            slots[slotOf(Math.max(prev, cursor + 1))].remove(groupBuyId);
+        }
+        slots[slotOf(Math.max(due, cursor + 1))].put(groupBuyId, due);
+    }
+
+    public synchronized void cancel(Long groupBuyId) {
+        Long prev = dueById.remove(groupBuyId);
+        if (prev != null) slots[slotOf(Math.max(prev, cursor + 1))].remove(groupBuyId);
+    }
+
+    /** nowSec 까지 tick 을 진행하고 만료된 공구 ID 를 반환 */
+    public synchronized List<Long> advance(long nowSec) {
+        List<Long> expired = new ArrayList<>();
+        if (!active || nowSec <= cursor) return expired;
+
+        // 한 바퀴 이상 밀렸으면 모든 슬롯을 한 번씩만 훑으면 충분
+        long from = Math.max(cursor + 1, nowSec - SLOTS + 1);
+        for (long s = from; s <= nowSec; s++) {
+            Iterator<Map.Entry<Long, Long>> it = slots[slotOf(s)].entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Long> e = it.next();
+                if (e.getValue() <= nowSec) {
+                    it.remove();
+                    dueById.remove(e.getKey());
+                    expired.add(e.getKey());
+                }
+            }
+        }
+        cursor = nowSec;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return dueById.size();
+    }
+
+    /** 초 단위 올림 (마감 시각 이전에 발화하지 않도록) */
+    public static long toEpochSecond(LocalDateTime time) {
+        long sec = time.atZone(ZoneId.systemDefault()).toEpochSecond();
+        return time.getNano() > 0 ? sec + 1 : sec;
+    }
+
+    private void clear() {
+        for (Map<Long, Long> slot : slots) slot.clear();
+        dueById.clear();
+    }
+
+    private static int slotOf(long sec) {
+        return (int) Math.floorMod(sec, (long) SLOTS);
+    }
+}
@@ -1,42 +1,110 @@
 package com.lionkit.mogumarket.groupbuy.scheduler;
 
-import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
 import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
 import com.lionkit.mogumarket.groupbuy.service.GroupBuyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * 공구 자동 마감.
+ * - 리더 노드(Redis SET NX)만 만료 휠을 돌리며, 1초 단위로 만료된 공구를 batch-size 씩 UPDATE 로 일괄 마감합니다.
+ * - 휠은 horizon 안에 마감되는 공구만 주기적으로 적재합니다. (다른 노드에서 생성된 공구, 누락분 보정)
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GroupBuyScheduler {
 
+    private static final String LEADER_KEY = "groupbuy:expiry:leader";
+
     private final GroupBuyRepository groupBuyRepository;
     private final GroupBuyService groupBuyService;
+    private final GroupBuyExpiryWheel wheel;
+    private final StringRedisTemplate redisTemplate;
 
-    /**
-     * 매 1분마다 마감 대상 자동 처리
-     * (운영 시 크론/주기 조정 가능)
-     */
-    @Scheduled(cron = "0 * * * * *")
-    public void closeExpiredGroupBuys() {
-        LocalDateTime now = LocalDateTime.now();
-        List<GroupBuy> targets = groupBuyRepository
-                .findByStatusAndEndAtBefore(GroupBuyStatus.OPEN, now);
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${group-buy.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${group-buy.expiry.horizon-ms:600000}")
+    private long horizonMs;
+
+    @Value("${group-buy.expiry.leader-lock:true}")
+    private boolean leaderLock;
 
-        for (GroupBuy gb : targets) {
+    @Value("${group-buy.expiry.leader-ttl-ms:10000}")
+    private long leaderTtlMs;
+
+    @Scheduled(fixedDelayString = "${group-buy.expiry.tick-ms:1000}")
+    public void tick() {
+        if (!holdLeadership()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = wheel.advance(GroupBuyExpiryWheel.toEpochSecond(now.withNano(0)));
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> chunk = due.subList(from, Math.min(from + batchSize, due.size()));
             try {
-                groupBuyService.closeGroupBuy(gb.getId());
-                log.info("[GroupBuyScheduler] closed groupBuy id={}", gb.getId());
+                List<Long> closed = groupBuyService.closeExpired(chunk, now);
+                log.info("[GroupBuyScheduler] closed groupBuys count={}, ids={}", closed.size(), closed);
             } catch (Exception e) {
-                log.warn("[GroupBuyScheduler] close failed. id={}, reason={}", gb.getId(), e.getMessage());
+                // 휠에서는 이미 빠졌으므로 다음 적재 주기에 다시 잡힘
+                log.warn("[GroupBuyScheduler] bulk close failed. ids={}, reason={}", chunk, e.getMessage());
             }
         }
     }
-}
\ No newline at end of file
+
+    /** horizon 안에 마감되는 OPEN 공구를 휠에 적재 (지난 마감 포함) */
+    @Scheduled(fixedDelayString = "${group-buy.expiry.refill-ms:60000}")
+    public void refill() {
+        if (!wheel.isActive()) return;
+        load();
+    }
+
+    private void load() {
+        LocalDateTime until = LocalDateTime.now().plusNanos(horizonMs * 1_000_000L);
+        List<GroupBuyRepository.ExpiryRow> rows = groupBuyRepository.findExpiryRows(GroupBuyStatus.OPEN, until);
+        rows.forEach(r -> wheel.schedule(r.getId(), r.getEndAt()));
+        log.debug("[GroupBuyScheduler] wheel refilled. loaded={}, size={}", rows.size(), wheel.size());
+    }
+
+    private boolean holdLeadership() {
+        boolean leader;
+        try {
+            leader = !leaderLock || acquireLeadership();
+        } catch (Exception e) {
+            log.warn("[GroupBuyScheduler] leader lock unavailable: {}", e.getMessage());
+            leader = false;
+        }
+
+        if (leader && !wheel.isActive()) {
+            wheel.activate(GroupBuyExpiryWheel.toEpochSecond(LocalDateTime.now().withNano(0)));
+            load();
+            log.info("[GroupBuyScheduler] became expiry leader. node={}", nodeId);
+        } else if (!leader && wheel.isActive()) {
+            wheel.deactivate();
+            log.info("[GroupBuyScheduler] lost expiry leadership. node={}", nodeId);
+        }
+        return leader;
+    }
+
+    private boolean acquireLeadership() {
+        Duration ttl = Duration.ofMillis(leaderTtlMs);
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LEADER_KEY, nodeId, ttl))) return true;
+        if (nodeId.equals(redisTemplate.opsForValue().get(LEADER_KEY))) {
+            redisTemplate.expire(LEADER_KEY, ttl);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package com.lionkit.mogumarket.groupbuy.service;
+
+import com.lionkit.mogumarket.groupbuy.dto.GroupBuyProgressEvent;
+import com.lionkit.mogumarket.groupbuy.dto.response.GroupBuyStatusResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * 공구 진행 상황 SSE 팬아웃.
+ *
+ * - 누적 수량 변경이 커밋되면 해당 공구를 dirty 로 표시만 하고,
+ *   tick 마다 dirty 공구 상태를 한 번에 조회해 구독자 전체에 전송합니다. (구독자 수와 무관하게 공구당 tick 당 1회 조회)
+ * - 직전 전송값과 같으면 보내지 않습니다.
+ * - group-buy.progress.relay=redis 이면 다른 노드에서 발생한 변경도 pub/sub 으로 전달받습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupBuyProgressHub {
+
+    public static final String CHANNEL = "groupbuy:progress";
+
+    private final GroupBuyService groupBuyService;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${group-buy.progress.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Value("${group-buy.progress.relay:none}")
+    private String relay;
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, GroupBuyStatusResponse> lastSent = new ConcurrentHashMap<>();
+
+    /**
+     * 구독 등록 후 현재 상태를 새 구독자에게만 즉시 1회 전송.
+     * lastSent 는 tick 의 브로드캐스트만 갱신합니다. (여기서 갱신하면 기존 구독자가 받지 못한 변경을 tick 이 건너뜀)
+     */
+    public SseEmitter subscribe(Long groupBuyId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        subscribers.computeIfAbsent(groupBuyId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+
+        emitter.onCompletion(() -> unsubscribe(groupBuyId, emitter));
+        emitter.onTimeout(() -> unsubscribe(groupBuyId, emitter));
+        emitter.onError(e -> unsubscribe(groupBuyId, emitter));
+
+        List<GroupBuyStatusResponse> current = groupBuyService.getProgress(List.of(groupBuyId));
+        if (!current.isEmpty()) send(emitter, groupBuyId, current.get(0));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProgress(GroupBuyProgressEvent event) {
+        dirty.add(event.groupBuyId());
+        if ("redis".equals(relay)) {
+            try {
+                redisTemplate.convertAndSend(CHANNEL, String.valueOf(event.groupBuyId()));
+            } catch (Exception e) {
+                log.warn("[GroupBuyProgress] relay publish failed. id={}, reason={}", event.groupBuyId(), e.getMessage());
+            }
+        }
+    }
+
+    /** 다른 노드에서 relay 된 변경 */
+    public void markDirty(Long groupBuyId) {
+        dirty.add(groupBuyId);
+    }
+
+    @Scheduled(fixedDelayString = "${group-buy.progress.tick-ms:1000}")
+    public void tick() {
+        if (dirty.isEmpty()) return;
+
+        List<Long> ids = new ArrayList<>();
+        for (Long id : dirty) {
+            dirty.remove(id);
+            if (subscribers.containsKey(id)) ids.add(id);
+        }
+        if (ids.isEmpty()) return;
+
+        for (GroupBuyStatusResponse status : groupBuyService.getProgress(ids)) {
+            Long id = status.groupBuyId();
+            if (Objects.equals(lastSent.get(id), status)) continue;
+
+            for (SseEmitter emitter : subscribers.getOrDefault(id, Set.of())) {
+                send(emitter, id, status);
+            }
+            if (subscribers.containsKey(id)) lastSent.put(id, status);
+        }
+    }
+
+    /** 프록시/LB 유휴 타임아웃 방지용 주석 이벤트 */
+    @Scheduled(fixedDelayString = "${group-buy.progress.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach((id, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(id, emitter);
+                }
+            }
+        });
+    }
+
+    private void send(SseEmitter emitter, Long groupBuyId, GroupBuyStatusResponse status) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(status));
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(groupBuyId, emitter);
+        }
+    }
+
+    private void unsubscribe(Long groupBuyId, SseEmitter emitter) {
+        subscribers.computeIfPresent(groupBuyId, (id, set) -> {
+            set.remove(emitter);
+            if (!set.isEmpty()) return set;
+            lastSent.remove(id);
+            return null;
+        });
+    }
+}
@@ -2,28 +2,41 @@ package com.lionkit.mogumarket.groupbuy.service;
 
 import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
 import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
+import com.lionkit.mogumarket.global.transaction.TransactionCallbacks;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuyUser;
-import com.lionkit.mogumarket.groupbuy.dto.GroupBuyClosedEvent;
+import com.lionkit.mogumarket.groupbuy.dto.GroupBuyProgressEvent;
 import com.lionkit.mogumarket.groupbuy.dto.response.GroupBuySnapshotResponse;
+import com.lionkit.mogumarket.groupbuy.dto.response.GroupBuyStatusResponse;
 import com.lionkit.mogumarket.groupbuy.dto.response.MyGroupBuyParticipationResponse;
 import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
-import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyUserRepository;
-import com.lionkit.mogumarket.notification.service.NotificationFacade;
-import com.lionkit.mogumarket.order.repository.OrderLineRepository;
+import com.lionkit.mogumarket.groupbuy.scheduler.GroupBuyExpiryWheel;
+import com.lionkit.mogumarket.order.reservation.ReservationEngine;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.service.OutboxService;
 import com.lionkit.mogumarket.product.entity.Product;
 import com.lionkit.mogumarket.product.repository.ProductRepository;
+import com.lionkit.mogumarket.product.service.ProductOverviewCache;
 import com.lionkit.mogumarket.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 
 @Service
@@ -32,20 +45,24 @@ public class GroupBuyService {
 
 
     private final GroupBuyRepository groupBuyRepository;
-    private final GroupBuyStageRepository stageRepository;
+    private final GroupBuyStageCache stageCache;
     private final ProductRepository productRepository;
-    private final OrderLineRepository orderLineRepository;
     private final UserRepository userRepository;
     private final GroupBuyUserRepository groupBuyUserRepository;
 
-    // FCMService 대신 파사드
-    private final NotificationFacade notificationFacade;
+    // 알림 등 부수 작업은 아웃박스로 (같은 트랜잭션에 적재)
+    private final OutboxService outboxService;
     private final ApplicationEventPublisher publisher;
+    private final Optional<ReservationEngine> reservationEngine;
+    private final GroupBuyExpiryWheel expiryWheel;
+    private final ServiceMetrics metrics;
+    private final ProductOverviewCache overviewCache;
 
     /** 공동구매 생성 */
     @Transactional
     public GroupBuySnapshotResponse createGroupBuy(Long productId, double targetQty,
-                                                   double maxDiscountPercent, int stageCount) {
+                                                   double maxDiscountPercent, int stageCount,
+                                                   LocalDateTime endAt) {
 
         if (groupBuyRepository.existsByProductIdAndStatus(productId, GroupBuyStatus.OPEN)) {
             throw new BusinessException(ExceptionType.GROUPBUY_ALREADY_OPEN); // 커스텀 코드 정의
@@ -63,6 +80,8 @@ public class GroupBuyService {
                 .targetQty(targetQty)
                 .currentQty(0)
                 .status(GroupBuyStatus.OPEN)
+                .startAt(LocalDateTime.now())
+                .endAt(endAt)
                 .maxDiscountPercent(maxDiscountPercent)
                 .basePricePerBaseUnitSnapshot(product.getOriginalPricePerBaseUnit()) // 스냅샷 동결
                 .build();
@@ -84,57 +103,57 @@ public class GroupBuyService {
         }
 
         GroupBuy saved = groupBuyRepository.save(groupBuy);
+        overviewCache.evict(productId);
+        if (endAt != null) {
+            TransactionCallbacks.afterCommit(() -> expiryWheel.schedule(saved.getId(), endAt));
+        }
         return GroupBuySnapshotResponse.fromEntity(saved);
 
     }
-    /** 공동구매 참여 */
+    /**
+     * 공동구매 참여
+     * - 누적 증가/재고 검사/목표 달성 전이를 조건부 UPDATE 한 번으로 처리 (엔티티 읽기-수정-쓰기 없음 → lost update, 낙관락 충돌 없음)
+     * - 참여 기록은 INSERT ... ON DUPLICATE KEY UPDATE 로 upsert
+     * - 행 락을 잡은 상태에서 결과를 다시 읽으므로 목표 달성(SUCCESS) 알림은 경계를 넘긴 한 건에서만 적재됩니다.
+     */
     @Transactional
     public GroupBuySnapshotResponse participate(Long groupBuyId, Long userId, double qty) {
+        return metrics.record("groupbuy.participate", () -> doParticipate(groupBuyId, userId, qty));
+    }
+
+    private GroupBuySnapshotResponse doParticipate(Long groupBuyId, Long userId, double qty) {
         if (qty <= 0) throw new IllegalArgumentException("qty must be > 0");
 
+        int updated = groupBuyRepository.participateQty(groupBuyId, qty, GroupBuyStatus.OPEN, GroupBuyStatus.SUCCESS);
+
         GroupBuy gb = groupBuyRepository.findById(groupBuyId)
                 .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
-
-        if (gb.getStatus() != GroupBuyStatus.OPEN) throw new IllegalStateException("이미 마감/종료된 공동구매입니다.");
-
-
-        // 재고 체크(상품 총재고 - 현재 누적)
         Product p = gb.getProduct();
-        double remain = p.getStock() - gb.getCurrentQty();
-        if (qty > remain) throw new IllegalStateException("재고 부족: 잔여 " + remain);
-
-        // 수량 반영 및 주문 기록
-        gb.increaseQty(qty);
-
-
-        GroupBuyUser userParticipation = groupBuyUserRepository
-                .findByGroupBuyIdAndUserId(gb.getId(), userId)
-                .orElseGet(() -> {
-                    GroupBuyUser groupBuyUser = GroupBuyUser.builder()
-                            .groupBuy(gb)
-                            .user(userRepository.getReferenceById(userId))
-                            .build();
-                    return groupBuyUserRepository.save(groupBuyUser);
-                });
-        userParticipation.addQty(qty);
-
-
-        // 참여자 본인에게 알림
-        notifyUserSafe(
-                userId,
-                "공동구매 참여 완료",
-                "[" + p.getName() + "]에 " + qty + p.getUnit().getTitle() + " 참여 완료!",
-                Map.of("event","GROUPBUY_JOINED","groupBuyId", String.valueOf(gb.getId()))
-        );
 
-        // 목표 달성 시 전체 브로드캐스트
-        if (gb.getStatus() == GroupBuyStatus.SUCCESS) {
-            notifyAllParticipants(
-                    gb,
-                    "목표 달성! 결제/수령 안내",
-                    "[" + p.getName() + "] 공동구매가 목표를 달성했습니다. 상세 안내를 확인해주세요.",
-                    Map.of("event","GROUPBUY_SUCCESS","groupBuyId", String.valueOf(gb.getId()))
-            );
+        if (updated == 0) {
+            if (gb.getStatus() != GroupBuyStatus.OPEN) throw new IllegalStateException("이미 마감/종료된 공동구매입니다.");
+            throw new IllegalStateException("재고 부족: 잔여 " + (p.getStock() - gb.getCurrentQty()));
+        }
+
+        groupBuyUserRepository.upsertQty(groupBuyId, userId, qty);
+        overviewCache.evictQuantities(p.getId());
+
+        reservationEngine.ifPresent(engine ->
+                TransactionCallbacks.afterCommit(() -> engine.absorbGroupBuyQty(groupBuyId, qty)));
+        publisher.publishEvent(new GroupBuyProgressEvent(groupBuyId));
+
+        // 알림은 아웃박스로 (커밋 후 디스패처가 비동기 전송)
+        String productName = p.getName();
+        outboxService.append(OutboxEventType.GROUP_BUY_JOINED, groupBuyId, Map.of(
+                "userId", String.valueOf(userId),
+                "productName", productName,
+                "qty", String.valueOf(qty),
+                "unit", p.getUnit().getTitle()));
+
+        // 목표 달성 시 전체 브로드캐스트 (이번 참여로 OPEN → SUCCESS 가 된 경우만)
+        boolean reachedNow = gb.getStatus() == GroupBuyStatus.SUCCESS && gb.getCurrentQty() - qty < gb.getTargetQty();
+        if (reachedNow) {
+            outboxService.append(OutboxEventType.GROUP_BUY_SUCCESS, groupBuyId, Map.of("productName", productName));
         }
 
         return GroupBuySnapshotResponse.fromEntity(gb);
@@ -168,61 +187,103 @@ public GroupBuySnapshotResponse  closeGroupBuy(Long groupBuyId) {
     GroupBuy gb = groupBuyRepository.findById(groupBuyId)
             .orElseThrow(() -> new IllegalArgumentException("공동구매 없음"));
     gb.close();
+    reservationEngine.ifPresent(engine ->
+            TransactionCallbacks.afterCommit(() -> engine.closeGroupBuy(groupBuyId)));
+    TransactionCallbacks.afterCommit(() -> stageCache.evict(groupBuyId));
+    TransactionCallbacks.afterCommit(() -> expiryWheel.cancel(groupBuyId));
+    overviewCache.evict(gb.getProduct().getId());
 
     GroupBuySnapshotResponse resp = GroupBuySnapshotResponse.fromEntity(gb);
 
-    publisher.publishEvent(new GroupBuyClosedEvent(gb.getId()));
+    outboxService.append(OutboxEventType.GROUP_BUY_CLOSED, gb.getId(), Map.of("productName", gb.getProduct().getName()));
+    outboxService.append(OutboxEventType.GROUP_BUY_FINALIZE, gb.getId(), Map.of());
+    publisher.publishEvent(new GroupBuyProgressEvent(gb.getId()));
 
     return resp;
 
 }
 
+/**
+ * 만료 공구 일괄 마감 (만료 휠에서 호출). 엔티티 로딩 없이 UPDATE 1회로 처리하고 실제로 마감된 ID 를 반환합니다.
+ */
+@Transactional
+public List<Long> closeExpired(Collection<Long> groupBuyIds, LocalDateTime now) {
+    List<GroupBuyRepository.ClosingRow> rows = groupBuyRepository.findClosingRows(groupBuyIds, GroupBuyStatus.OPEN, now);
+    if (rows.isEmpty()) return List.of();
+
+    List<Long> candidateIds = rows.stream().map(GroupBuyRepository.ClosingRow::getId).toList();
+    // DB 컬럼 정밀도(마이크로초)에 맞춰 잘라야 아래 closedAt 비교가 정확히 일치
+    LocalDateTime closedAt = now.truncatedTo(ChronoUnit.MICROS);
+    int updated = groupBuyRepository.closeExpired(candidateIds, GroupBuyStatus.OPEN, GroupBuyStatus.CLOSED, now, closedAt);
+
+    // 조회 ~ UPDATE 사이 상태가 바뀐 공구가 있으면 이 UPDATE 가 마감한 것만 추림 (수동/다른 노드 마감분은 이벤트 중복 방지)
+    Set<Long> closedIds = updated == candidateIds.size()
+            ? new HashSet<>(candidateIds)
+            : new HashSet<>(groupBuyRepository.findIdsByIdInAndStatusAndClosedAt(candidateIds, GroupBuyStatus.CLOSED, closedAt));
+
+    List<Long> closed = new ArrayList<>(closedIds.size());
+    for (GroupBuyRepository.ClosingRow row : rows) {
+        Long id = row.getId();
+        if (!closedIds.contains(id)) continue;
+
+        reservationEngine.ifPresent(engine ->
+                TransactionCallbacks.afterCommit(() -> engine.closeGroupBuy(id)));
+        TransactionCallbacks.afterCommit(() -> stageCache.evict(id));
+        overviewCache.evict(row.getProductId());
+        outboxService.append(OutboxEventType.GROUP_BUY_CLOSED, id, Map.of("productName", row.getProductName()));
+        outboxService.append(OutboxEventType.GROUP_BUY_FINALIZE, id, Map.of());
+        publisher.publishEvent(new GroupBuyProgressEvent(id));
+        closed.add(id);
+    }
+    return closed;
+}
+
+/**
+ * 마감 임박 알림 선점 + 아웃박스 적재 (같은 트랜잭션). 선점에 성공한 공구만 반환합니다.
+ */
+@Transactional
+public List<GroupBuyRepository.ClosingSoonRow> markClosingSoon(List<GroupBuyRepository.ClosingSoonRow> rows,
+                                                               LocalDateTime now) {
+    if (rows.isEmpty()) return List.of();
+
+    List<Long> ids = rows.stream().map(GroupBuyRepository.ClosingSoonRow::getId).toList();
+    // DB 컬럼 정밀도(마이크로초)에 맞춰 잘라야 아래 notifiedAt 비교가 정확히 일치
+    LocalDateTime notifiedAt = now.truncatedTo(ChronoUnit.MICROS);
+    int claimed = groupBuyRepository.claimClosingSoon(ids, notifiedAt);
+    if (claimed == 0) return List.of();
+
+    Set<Long> claimedIds = claimed == ids.size()
+            ? new HashSet<>(ids)
+            : new HashSet<>(groupBuyRepository.findIdsClaimedClosingSoonAt(ids, notifiedAt));
+
+    List<GroupBuyRepository.ClosingSoonRow> result = new ArrayList<>(claimedIds.size());
+    for (GroupBuyRepository.ClosingSoonRow row : rows) {
+        if (!claimedIds.contains(row.getId())) continue;
+        outboxService.append(OutboxEventType.GROUP_BUY_CLOSING_SOON, row.getId(),
+                Map.of("productId", String.valueOf(row.getProductId())));
+        result.add(row);
+    }
+    return result;
+}
+
 /** 공동구매 상태 + 단계별 할인 + 단가 계산 */
 @Transactional(readOnly = true)
 public GroupBuySnapshotResponse getGroupBuyStatus(Long groupBuyId) {
     GroupBuy gb = groupBuyRepository.findById(groupBuyId)
             .orElseThrow(() -> new IllegalArgumentException("공동구매 없음"));
 
-    double totalQty = gb.getCurrentQty();
-
-
-    GroupBuyStage cur = stageRepository
-            .findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(gb, totalQty)
-            .orElse(null);
-
-    GroupBuyStage next = stageRepository
-            .findTopByGroupBuyAndStartQtyGreaterThanOrderByStartQtyAsc(gb, totalQty)
-            .orElse(null);
-
-    double currentDiscount = (cur != null) ? cur.getDiscountPercent() : 0.0;
-    double appliedUnitPrice = (cur != null) ? cur.getAppliedUnitPrice()
-            : Math.round(gb.getBasePricePerBaseUnitSnapshot());
-
-    double remainingToNext = (next != null) ? (next.getStartQty() - totalQty) : 0.0;
-
     return GroupBuySnapshotResponse.fromEntity(gb);
 }
 
-/* ───────────── 내부 알림 유틸 ───────────── */
-
-private void notifyUserSafe(Long userId, String title, String body, Map<String,String> data) {
-    try {
-        notificationFacade.notifyUsers(List.of(userId), title, body, data); // 단일 유저도 List로 감싸기
-    } catch (Exception ignored) {
-        // 로깅만 하고 진행
-    }
+/** 진행 스트림용 상태 일괄 조회 (공구 조회 1회 + 단계 테이블 일괄) */
+@Transactional(readOnly = true)
+public List<GroupBuyStatusResponse> getProgress(Collection<Long> groupBuyIds) {
+    List<GroupBuy> gbs = groupBuyRepository.findAllById(groupBuyIds);
+    if (gbs.isEmpty()) return List.of();
+
+    Map<Long, GroupBuyStageTable> stagesByGb = stageCache.getAll(gbs);
+    return gbs.stream()
+            .map(gb -> GroupBuyStatusResponse.of(gb, stagesByGb.get(gb.getId())))
+            .toList();
 }
-
-private void notifyAllParticipants(GroupBuy gb, String title, String body, Map<String,String> data) {
-    List<Long> userIds = orderLineRepository.findParticipantUserIds(gb);
-    if (userIds.isEmpty()) return;
-
-    try {
-        notificationFacade.notifyUsers(userIds, title, body, data);
-    } catch (Exception ignored) {
-        // 일부 실패는 파사드/FCM 레이어에서 정리
-        // 실패는 로깅만 (서비스 흐름 저해 X)
-
-    }
 }
-}
\ No newline at end of file
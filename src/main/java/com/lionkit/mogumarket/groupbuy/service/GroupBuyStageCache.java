@@ -0,0 +1,69 @@
+package com.lionkit.mogumarket.groupbuy.service;
+
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 공구별 단계 테이블 인프로세스 캐시.
+ * - 진행중(OPEN/SUCCESS) 공구만 캐시하며, 마감 시 evict 됩니다. (캐시 크기 = 진행중 공구 수)
+ * - 단계는 불변이므로 노드 간 동기화가 필요 없습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupBuyStageCache {
+
+    private final GroupBuyStageRepository stageRepository;
+
+    private final Map<Long, GroupBuyStageTable> tables = new ConcurrentHashMap<>();
+
+    public GroupBuyStageTable get(GroupBuy gb) {
+        GroupBuyStageTable cached = tables.get(gb.getId());
+        if (cached != null) return cached;
+
+        GroupBuyStageTable table = GroupBuyStageTable.of(stageRepository.findByGroupBuyOrderByStartQtyAsc(gb));
+        if (gb.getStatus() != GroupBuyStatus.CLOSED && table.size() > 0) {
+            tables.putIfAbsent(gb.getId(), table);
+        }
+        return table;
+    }
+
+    /** 여러 공구의 단계 테이블. 캐시에 없는 공구는 쿼리 한 번으로 함께 로딩합니다. */
+    public Map<Long, GroupBuyStageTable> getAll(Collection<GroupBuy> groupBuys) {
+        Map<Long, GroupBuyStageTable> result = new HashMap<>();
+        Map<Long, GroupBuy> missing = new HashMap<>();
+        for (GroupBuy gb : groupBuys) {
+            GroupBuyStageTable cached = tables.get(gb.getId());
+            if (cached != null) result.put(gb.getId(), cached);
+            else missing.put(gb.getId(), gb);
+        }
+        if (missing.isEmpty()) return result;
+
+        Map<Long, List<GroupBuyStage>> loaded = stageRepository.findByGroupBuyIdIn(missing.keySet()).stream()
+                .collect(Collectors.groupingBy(s -> s.getGroupBuy().getId()));
+
+        missing.forEach((id, gb) -> {
+            GroupBuyStageTable table = GroupBuyStageTable.of(loaded.get(id));
+            if (gb.getStatus() != GroupBuyStatus.CLOSED && table.size() > 0) {
+                tables.putIfAbsent(id, table);
+            }
+            result.put(id, table);
+        });
+        return result;
+    }
+
+    public void evict(Long groupBuyId) {
+        tables.remove(groupBuyId);
+    }
+}
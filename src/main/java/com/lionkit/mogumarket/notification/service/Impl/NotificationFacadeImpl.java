@@ -1,7 +1,7 @@
 package com.lionkit.mogumarket.notification.service.Impl;
 
-import com.google.firebase.messaging.FirebaseMessagingException;
-import com.lionkit.mogumarket.alarm.service.FCMService;
+import com.lionkit.mogumarket.alarm.service.FcmBatchSender;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
 import com.lionkit.mogumarket.notification.service.NotificationFacade;
 import com.lionkit.mogumarket.notification.service.NotificationTemplateResolver;
 import com.lionkit.mogumarket.notification.service.TokenQueryPort;
@@ -17,9 +17,10 @@ import java.util.Map;
 @Slf4j
 public class NotificationFacadeImpl implements NotificationFacade {
 
-    private final FCMService fcmService; // 기존 alarm의 서비스
+    private final FcmBatchSender fcmBatchSender;
     private final TokenQueryPort tokenQueryPort;
     private final NotificationTemplateResolver templates;
+    private final ServiceMetrics metrics;
 
     @Override
     public void groupBuyReached(Long groupBuyId, List<Long> userIds) {
@@ -41,17 +42,22 @@ public class NotificationFacadeImpl implements NotificationFacade {
 
     @Override
     public void notifyUsers(List<Long> userIds, String title, String body, Map<String,String> data) {
-        var map = tokenQueryPort.tokensOf(userIds);
-        map.forEach((userId, tokens) -> {
-            if (tokens.isEmpty()) return;
-            try {
-                // 현재 FCMService에 데이터(payload) 지원 메서드가 없으면 하나 추가하거나,
-                // sendToUser(userId, title, body) 반복 호출로 대체
-                // 여기서는 간단히 유저별 전송으로 재사용
-                fcmService.sendToUser(userId, title, body);
-            } catch (FirebaseMessagingException e) {
-                log.warn("FCM send failed. userId={}, reason={}", userId, e.getMessage());
-            }
-        });
+        metrics.run("notification.notify", () -> broadcast(userIds, title, body, data));
     }
-}
\ No newline at end of file
+
+    private void broadcast(List<Long> userIds, String title, String body, Map<String,String> data) {
+        // 사용자 경계와 무관하게 토큰을 모아 500개 단위 멀티캐스트로 전송
+        List<String> tokens = tokenQueryPort.tokensOf(userIds).values().stream()
+                .flatMap(List::stream)
+                .toList();
+        if (tokens.isEmpty()) return;
+
+        FcmBatchSender.Result result = fcmBatchSender.send(tokens, title, body, data);
+        metrics.count("notification.tokens", result.successCount(), "result", "success");
+        metrics.count("notification.tokens", result.failureCount(), "result", "failure");
+        if (result.failureCount() > 0) {
+            log.warn("FCM broadcast partially failed. users={}, success={}, failure={}, removed={}",
+                    userIds.size(), result.successCount(), result.failureCount(), result.removedTokens().size());
+        }
+    }
+}
@@ -1,8 +1,7 @@
 // notification/service/impl/TokenQueryAdapter.java
 package com.lionkit.mogumarket.notification.service.Impl;
 
-import com.lionkit.mogumarket.alarm.entity.Alarm;
-import com.lionkit.mogumarket.alarm.repository.FcmTokenRepository;
+import com.lionkit.mogumarket.alarm.service.FcmTokenCache;
 import com.lionkit.mogumarket.notification.service.TokenQueryPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -13,18 +12,11 @@ import java.util.*;
 @RequiredArgsConstructor
 public class TokenQueryAdapter implements TokenQueryPort {
 
-    private final FcmTokenRepository fcmTokenRepository;
+    private final FcmTokenCache fcmTokenCache;
 
     @Override
     public Map<Long, List<String>> tokensOf(List<Long> userIds) {
-        // 효율을 위해 리포지토리에 IN 쿼리 메서드가 있으면 더 좋음(예: findAllByUserIdIn)
-        // 지금은 간단히 개별 조회로(규모 커지면 최적화)
-        Map<Long, List<String>> result = new HashMap<>();
-        for (Long uid : userIds) {
-            List<String> tokens = fcmTokenRepository.findAllByUserId(uid)
-                    .stream().map(Alarm::getToken).toList();
-            if (!tokens.isEmpty()) result.put(uid, tokens);
-        }
-        return result;
+        // 캐시 히트는 쿼리 없이, 미스는 청크 단위 IN 쿼리로 한 번에 조회
+        return fcmTokenCache.tokensOf(userIds);
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,9 @@ import com.lionkit.mogumarket.order.dto.request.ConfirmMultiOrderRequest;
 import com.lionkit.mogumarket.order.dto.request.CreateOrderLineRequest;
 import com.lionkit.mogumarket.order.dto.response.OrderLineResponse;
 import com.lionkit.mogumarket.order.dto.response.OrderSnapshotResponse;
+import com.lionkit.mogumarket.order.service.OrderAdmissionCoalescer;
 import com.lionkit.mogumarket.order.service.OrderService;
+import com.lionkit.mogumarket.order.service.SnapshotFinalizeJob;
 import com.lionkit.mogumarket.security.oauth2.principal.PrincipalDetails;
 import com.lionkit.mogumarket.user.entity.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,6 +20,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,6 +30,8 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final SnapshotFinalizeJob snapshotFinalizeJob;
+    private final Optional<OrderAdmissionCoalescer> orderAdmissionCoalescer;
 
     // ---------- 1) 단일 상품 주문 확정 ----------
     @PostMapping("/confirm-single")
@@ -38,10 +43,10 @@ public class OrderController {
             @AuthenticationPrincipal PrincipalDetails principal,
             @Valid @RequestBody CreateOrderLineRequest  req
     ) {
-        Long ordersId = orderService.confirmSingleProductOrder(
-                principal.getUser().getId(),
-                req
-        );
+        // 합류(group commit) 활성화 시 같은 상품 동시 요청을 한 트랜잭션으로 묶어 처리
+        Long ordersId = orderAdmissionCoalescer
+                .map(c -> c.admit(principal.getUser().getId(), req))
+                .orElseGet(() -> orderService.confirmSingleProductOrder(principal.getUser().getId(), req));
         OrderSnapshotResponse snapshot = orderService.getOrderSnapshot(principal.getUser().getId(), ordersId);
 
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -81,6 +86,19 @@ public class OrderController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/group-buys/{groupBuyId}/finalize-snapshots/progress")
+    @Operation(
+            summary = "공구 종료 스냅샷 확정 진행률",
+            description = "공구 마감 후 자동 실행되는 스냅샷 확정 작업의 진행 상태/처리 라인 수를 조회합니다. (작업을 실행한 노드 기준)"
+    )
+    public ResponseEntity<SnapshotFinalizeJob.Progress> getFinalizeProgress(
+            @PathVariable Long groupBuyId
+    ) {
+        return snapshotFinalizeJob.progressOf(groupBuyId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // ---------- 3) 결제 실패 롤백 ----------
     @PostMapping("/{ordersId}/rollback")
     @Operation(
@@ -15,7 +15,8 @@ import lombok.NoArgsConstructor;
  * 이름을 OrderProduct가 아니라 OrderLine으로 명명했습니다.
  */
 @Entity
-@Table(name = "order_line")
+@Table(name = "order_line",
+        indexes = @Index(name = "idx_order_line_group_buy_id", columnList = "group_buy_id"))
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
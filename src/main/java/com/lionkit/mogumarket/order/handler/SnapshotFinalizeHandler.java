@@ -0,0 +1,43 @@
+package com.lionkit.mogumarket.order.handler;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.order.service.SnapshotFinalizeJob;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.handler.OutboxEventHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 공구 마감 후 final 스냅샷 확정 (아웃박스 디스패처 스레드, 트랜잭션 밖)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotFinalizeHandler implements OutboxEventHandler {
+
+    private final SnapshotFinalizeJob snapshotFinalizeJob;
+
+    @Override
+    public Set<OutboxEventType> supports() {
+        return Set.of(OutboxEventType.GROUP_BUY_FINALIZE);
+    }
+
+    @Override
+    public void handle(OutboxEventType type, Long groupBuyId, Map<String, String> payload) {
+        try {
+            snapshotFinalizeJob.run(groupBuyId);
+        } catch (BusinessException e) {
+            // 첫 단계에도 못 미친 공구는 확정할 단계가 없음 → 재시도하지 않음
+            if (e.getExceptionType() == ExceptionType.GROUP_BUY_STAGE_NOT_FOUND) {
+                log.info("[Finalize] skipped, no stage reached. groupBuyId={}", groupBuyId);
+                return;
+            }
+            throw e;
+        }
+    }
+}
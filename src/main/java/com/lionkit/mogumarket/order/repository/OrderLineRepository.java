@@ -2,7 +2,9 @@ package com.lionkit.mogumarket.order.repository;
 
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
 import com.lionkit.mogumarket.order.entity.OrderLine;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -23,9 +25,55 @@ public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
     @Query("select distinct l.orders.user.id from OrderLine l where l.groupBuy = :gb")
     List<Long> findParticipantUserIds(@Param("gb") GroupBuy gb);
 
-    @Query("select coalesce(sum(l.orderedBaseQty), 0) from OrderLine l where l.groupBuy = :gb")
+    /** 공구 누적 = 실패(FAILED) 처리되지 않은 주문 라인 수량 합 (예약 엔진 정합성 복구 기준) */
+    @Query("""
+           select coalesce(sum(l.orderedBaseQty), 0)
+           from OrderLine l
+           where l.groupBuy = :gb
+             and l.orders.status <> com.lionkit.mogumarket.order.enums.OrderStatus.FAILED
+           """)
     Double sumOrderedQtyByGroupBuy(@Param("gb") GroupBuy gb);
 
-    List<OrderLine> findByGroupBuy(GroupBuy gb); // 공구 종료 시 final*Snapshot 채우는 데 사용
+    /** 상품 전체 누적(일반+공구) = 실패(FAILED) 처리되지 않은 주문 라인 수량 합 */
+    @Query("""
+           select coalesce(sum(l.orderedBaseQty), 0)
+           from OrderLine l
+           where l.product.id = :productId
+             and l.orders.status <> com.lionkit.mogumarket.order.enums.OrderStatus.FAILED
+           """)
+    Double sumOrderedQtyByProductId(@Param("productId") Long productId);
+
+    /** 상품별 누적 합계 [productId, sum] (기동 시 전체 정합성 복구용) */
+    @Query("""
+           select l.product.id, coalesce(sum(l.orderedBaseQty), 0)
+           from OrderLine l
+           where l.orders.status <> com.lionkit.mogumarket.order.enums.OrderStatus.FAILED
+           group by l.product.id
+           """)
+    List<Object[]> sumOrderedQtyGroupByProduct();
+
+    long countByGroupBuyId(Long groupBuyId);
+
+    /** final 스냅샷 청크 경계 계산용 keyset 조회 (group_buy_id 인덱스) */
+    @Query("select l.id from OrderLine l where l.groupBuy.id = :groupBuyId and l.id > :afterId order by l.id asc")
+    List<Long> findIdsByGroupBuyIdAfter(@Param("groupBuyId") Long groupBuyId,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    /** 공구 종료 시 final 스냅샷 일괄 확정 (id 구간 단위, 엔티티 로딩 없음) */
+    @Modifying
+    @Query("""
+           update OrderLine l
+           set l.finalLevelSnapshot = :level,
+               l.finalDiscountPercentSnapshot = :discount,
+               l.finalUnitPriceSnapshot = :unitPrice
+           where l.groupBuy.id = :groupBuyId and l.id > :afterId and l.id <= :toId
+           """)
+    int finalizeSnapshots(@Param("groupBuyId") Long groupBuyId,
+                          @Param("afterId") Long afterId,
+                          @Param("toId") Long toId,
+                          @Param("level") int level,
+                          @Param("discount") double discount,
+                          @Param("unitPrice") double unitPrice);
 
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.lionkit.mogumarket.order.reservation;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
+import com.lionkit.mogumarket.product.entity.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단일 노드용 인메모리 예약 원장 (order.reservation.mode=memory).
+ *
+ * - productId / groupBuyId 별 카운터로 잔여 수량을 관리하고 CAS 로 선점합니다. (DB 락 없음)
+ * - 커밋된 증감분은 pending 에 쌓였다가 주기적으로 한 트랜잭션에서 일괄 반영됩니다. (write-behind)
+ * - 기동 시 웹 서버가 요청을 받기 전에 주문 라인 합계로 누적 컬럼을 복구하고, 종료 시 남은 증감분을 반영합니다.
+ *
+ * 여러 노드가 같은 상품을 판매하면 카운터가 노드별로 갈라지므로 다중 노드에서는 사용하지 않습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.reservation.mode", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryReservationLedger implements ReservationEngine, SmartLifecycle {
+
+    /** 기준단위 수량을 정수(1/1000 단위)로 다뤄 부동소수 누적 오차를 피합니다. */
+    private static final double SCALE = 1000d;
+
+    private final ReservationWriteBehindService writeBehind;
+
+    private final Map<Long, Counter> products = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> groupBuys = new ConcurrentHashMap<>();
+
+    /** 카운터가 없는 키의 증감분(원장 초기화 이전 주문의 롤백 등). DB 에만 반영합니다. */
+    private final Map<Long, AtomicLong> detachedProducts = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> detachedGroupBuys = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    @Override
+    public Reservation reserve(Product product, GroupBuy groupBuy, double qty) {
+        if (qty <= 0) throw new BusinessException(ExceptionType.INVALID_QTY);
+        long units = toUnits(qty);
+
+        // 카운터가 없을 때만 방금 읽은 DB 값으로 초기화 (이미 있으면 아직 반영 안 된 pending 이 있을 수 있으므로 무시)
+        Counter pc = products.computeIfAbsent(product.getId(),
+                id -> new Counter(toUnits(product.getStock()), toUnits(product.getCurrentBaseQty()), true));
+
+        if (pc.tryAcquire(units) < 0) throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
+        if (groupBuy == null) {
+            return new Reservation(product.getId(), null, qty, 0d, null);
+        }
+
+        Counter gc = groupBuys.computeIfAbsent(groupBuy.getId(),
+                id -> new Counter(toUnits(groupBuy.getTargetQty()), toUnits(groupBuy.getCurrentQty()),
+                        groupBuy.getStatus() == GroupBuyStatus.OPEN));
+
+        if (!gc.open) {
+            pc.release(units);
+            throw new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN);
+        }
+        long before = gc.tryAcquire(units);
+        if (before < 0) {
+            pc.release(units);
+            throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
+        }
+        return new Reservation(product.getId(), groupBuy.getId(), qty, fromUnits(before), null);
+    }
+
+    @Override
+    public void commit(Reservation r) {
+        long units = toUnits(r.qty());
+        products.get(r.productId()).pending.addAndGet(units);
+        if (r.isGroupBuy()) groupBuys.get(r.groupBuyId()).pending.addAndGet(units);
+    }
+
+    @Override
+    public void release(Reservation r) {
+        long units = toUnits(r.qty());
+        products.get(r.productId()).release(units);
+        if (r.isGroupBuy()) groupBuys.get(r.groupBuyId()).release(units);
+    }
+
+    @Override
+    public void cancel(Long productId, Long groupBuyId, double qty) {
+        long units = toUnits(qty);
+        Counter pc = products.get(productId);
+        if (pc != null) {
+            pc.release(units);
+            pc.pending.addAndGet(-units);
+        } else {
+            // 카운터가 없으면 DB 가 기준이므로 DB 에만 반영
+            detachedProducts.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(-units);
+        }
+        if (groupBuyId == null) return;
+
+        Counter gc = groupBuys.get(groupBuyId);
+        if (gc != null) {
+            gc.release(units);
+            gc.pending.addAndGet(-units);
+        } else {
+            detachedGroupBuys.computeIfAbsent(groupBuyId, id -> new AtomicLong()).addAndGet(-units);
+        }
+    }
+
+    @Override
+    public void absorbGroupBuyQty(Long groupBuyId, double qty) {
+        Counter gc = groupBuys.get(groupBuyId);
+        if (gc != null) gc.used.addAndGet(toUnits(qty));
+    }
+
+    @Override
+    public void closeGroupBuy(Long groupBuyId) {
+        Counter gc = groupBuys.get(groupBuyId);
+        if (gc != null) gc.open = false;
+    }
+
+    @Override
+    public void updateProductStock(Long productId, double stock) {
+        Counter pc = products.get(productId);
+        if (pc != null) pc.limit = toUnits(stock);
+    }
+
+    /**
+     * 커밋된 증감분을 모아 한 트랜잭션으로 반영합니다.
+     * 반영 실패 시 증감분을 pending 에 되돌려 다음 주기에 재시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${order.reservation.flush-interval-ms:200}")
+    public void flush() {
+        if (!running) return;
+        Map<Long, Double> productDeltas = drain(products, detachedProducts);
+        Map<Long, Double> groupBuyDeltas = drain(groupBuys, detachedGroupBuys);
+        if (productDeltas.isEmpty() && groupBuyDeltas.isEmpty()) return;
+
+        try {
+            writeBehind.apply(productDeltas, groupBuyDeltas);
+        } catch (Exception e) {
+            log.warn("[Reservation] write-behind failed. products={}, groupBuys={}, reason={}",
+                    productDeltas.size(), groupBuyDeltas.size(), e.getMessage());
+            restore(products, detachedProducts, productDeltas);
+            restore(groupBuys, detachedGroupBuys, groupBuyDeltas);
+        }
+    }
+
+    /**
+     * 기동 시 직전 프로세스에서 반영되지 못한 증감분을 주문 라인 기준으로 복구.
+     * 웹 서버 lifecycle 보다 낮은 phase 이고 @Scheduled 는 refresh 완료 후 시작되므로,
+     * 복구 전에 접수된 주문(카운터/pending)이 없습니다.
+     */
+    @Override
+    public void start() {
+        int fixed = writeBehind.reconcile();
+        running = true;
+        log.info("[Reservation] in-memory ledger ready. reconciled rows={}", fixed);
+    }
+
+    /** 종료 시(웹 서버 정지 이후) 남은 증감분 반영 */
+    @Override
+    public void stop() {
+        flush();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** 웹 서버(WebServerStartStopLifecycle)보다 먼저 시작, 나중에 정지 */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private static Map<Long, Double> drain(Map<Long, Counter> counters, Map<Long, AtomicLong> detached) {
+        Map<Long, Long> units = new HashMap<>();
+        counters.forEach((id, c) -> {
+            long d = c.pending.getAndSet(0);
+            if (d != 0) units.merge(id, d, Long::sum);
+        });
+        detached.forEach((id, acc) -> {
+            long d = acc.getAndSet(0);
+            if (d != 0) units.merge(id, d, Long::sum);
+        });
+
+        Map<Long, Double> deltas = new HashMap<>();
+        units.forEach((id, d) -> {
+            if (d != 0) deltas.put(id, fromUnits(d));
+        });
+        return deltas;
+    }
+
+    private static void restore(Map<Long, Counter> counters, Map<Long, AtomicLong> detached, Map<Long, Double> deltas) {
+        deltas.forEach((id, d) -> {
+            Counter c = counters.get(id);
+            if (c != null) c.pending.addAndGet(toUnits(d));
+            else detached.computeIfAbsent(id, k -> new AtomicLong()).addAndGet(toUnits(d));
+        });
+    }
+
+    private static long toUnits(double qty) {
+        return Math.round(qty * SCALE);
+    }
+
+    private static double fromUnits(long units) {
+        return units / SCALE;
+    }
+
+    /**
+     * 키 하나(상품 또는 공구)의 카운터.
+     * used 는 커밋 전 선점분까지 포함하고, pending 은 커밋됐지만 아직 DB 에 반영되지 않은 증감분입니다.
+     */
+    private static final class Counter {
+        volatile long limit;
+        volatile boolean open;
+        final AtomicLong used;
+        final AtomicLong pending = new AtomicLong();
+
+        Counter(long limit, long used, boolean open) {
+            this.limit = limit;
+            this.used = new AtomicLong(used);
+            this.open = open;
+        }
+
+        /** @return 선점 직전 used, 한도 초과면 -1 */
+        long tryAcquire(long units) {
+            for (;;) {
+                long cur = used.get();
+                if (cur + units > limit) return -1;
+                if (used.compareAndSet(cur, cur + units)) return cur;
+            }
+        }
+
+        void release(long units) {
+            used.addAndGet(-units);
+        }
+    }
+}
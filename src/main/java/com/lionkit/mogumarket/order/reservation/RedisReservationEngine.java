@@ -0,0 +1,385 @@
+package com.lionkit.mogumarket.order.reservation;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
+import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
+import com.lionkit.mogumarket.product.entity.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 기반 예약 엔진 (order.reservation.mode=redis). 여러 노드가 같은 카운터를 공유합니다.
+ *
+ * - 상품/공구 카운터는 Redis 해시(limit/used[/open]), 공구 단계는 ZSET(score=startQty, member=level)
+ * - 선점은 Lua 스크립트 한 번으로 상품 재고 + 공구 한도 차감과 단계 판정까지 원자적으로 수행
+ * - 커밋된 증감분은 pending 해시에 쌓이고, 각 노드가 주기적으로 원자적으로 가져가 DB 에 반영
+ * - 리더 노드가 주기적으로 DB/Redis 카운터를 원천 합계와 비교해 보정
+ *
+ * 수량은 기준단위 1/1000 정수로 저장합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.reservation.mode", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisReservationEngine implements ReservationEngine {
+
+    private static final double SCALE = 1000d;
+
+    private static final String PREFIX = "resv:";
+    private static final String PRODUCTS = PREFIX + "products";
+    private static final String GROUP_BUYS = PREFIX + "gbs";
+    private static final String PENDING_PRODUCT = PREFIX + "pending:product";
+    private static final String PENDING_GROUP_BUY = PREFIX + "pending:gb";
+    private static final String RECONCILE_LOCK = PREFIX + "lock:reconcile";
+
+    /** reserve 결과 코드 */
+    private static final long OK = 1;
+    private static final long PRODUCT_OVERFLOW = -1;
+    private static final long GROUP_BUY_CLOSED = -2;
+    private static final long GROUP_BUY_OVERFLOW = -3;
+    private static final long STAGES_MISSING = -9;
+
+    /**
+     * KEYS: [1]상품 해시 [2]공구 해시 [3]공구 단계 ZSET (일반 구매는 KEYS[1] 만)
+     * ARGV: [1]수량 [2]상품 limit [3]상품 used [4]공구 limit [5]공구 used [6]공구 open(1/0)
+     * 키가 없을 때만 ARGV 의 DB 값으로 초기화합니다.
+     * 반환: {코드, 선점 직전 공구 used, 단계 level(없으면 0)}
+     */
+    private static final RedisScript<List> RESERVE = new DefaultRedisScript<>("""
+            local units = tonumber(ARGV[1])
+            redis.call('HSETNX', KEYS[1], 'limit', ARGV[2])
+            redis.call('HSETNX', KEYS[1], 'used', ARGV[3])
+            local pLimit = tonumber(redis.call('HGET', KEYS[1], 'limit'))
+            local pUsed = tonumber(redis.call('HGET', KEYS[1], 'used'))
+            if pUsed + units > pLimit then return {-1, 0, 0} end
+            if #KEYS == 1 then
+              redis.call('HINCRBY', KEYS[1], 'used', units)
+              return {1, 0, 0}
+            end
+            if redis.call('EXISTS', KEYS[3]) == 0 then return {-9, 0, 0} end
+            redis.call('HSETNX', KEYS[2], 'limit', ARGV[4])
+            redis.call('HSETNX', KEYS[2], 'used', ARGV[5])
+            redis.call('HSETNX', KEYS[2], 'open', ARGV[6])
+            if redis.call('HGET', KEYS[2], 'open') ~= '1' then return {-2, 0, 0} end
+            local gLimit = tonumber(redis.call('HGET', KEYS[2], 'limit'))
+            local gUsed = tonumber(redis.call('HGET', KEYS[2], 'used'))
+            if gUsed + units > gLimit then return {-3, 0, 0} end
+            local level = 0
+            local hit = redis.call('ZREVRANGEBYSCORE', KEYS[3], gUsed, '-inf', 'LIMIT', 0, 1)
+            if #hit > 0 then level = tonumber(hit[1]) end
+            redis.call('HINCRBY', KEYS[1], 'used', units)
+            redis.call('HINCRBY', KEYS[2], 'used', units)
+            return {1, gUsed, level}
+            """, List.class);
+
+    /**
+     * 확정/반환/취소 공통.
+     * KEYS: [1]상품 해시 [2]상품 pending [3]공구 해시 [4]공구 pending (일반 구매는 [1],[2] 만)
+     * ARGV: [1]used 증감 [2]pending 증감 [3]productId [4]groupBuyId
+     * 카운터 키가 없으면(만료/미초기화) used 는 건드리지 않고 pending 만 반영합니다.
+     */
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>("""
+            local usedDelta = tonumber(ARGV[1])
+            local pendingDelta = tonumber(ARGV[2])
+            if usedDelta ~= 0 and redis.call('EXISTS', KEYS[1]) == 1 then
+              redis.call('HINCRBY', KEYS[1], 'used', usedDelta)
+            end
+            if pendingDelta ~= 0 then redis.call('HINCRBY', KEYS[2], ARGV[3], pendingDelta) end
+            if #KEYS == 4 then
+              if usedDelta ~= 0 and redis.call('EXISTS', KEYS[3]) == 1 then
+                redis.call('HINCRBY', KEYS[3], 'used', usedDelta)
+              end
+              if pendingDelta ~= 0 then redis.call('HINCRBY', KEYS[4], ARGV[4], pendingDelta) end
+            end
+            return 1
+            """, Long.class);
+
+    /** pending 해시를 원자적으로 비우고 내용을 반환 */
+    private static final RedisScript<List> DRAIN = new DefaultRedisScript<>("""
+            local all = redis.call('HGETALL', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            return all
+            """, List.class);
+
+    /** 키가 있을 때만 필드 설정 */
+    private static final RedisScript<Long> SET_IF_EXISTS = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final GroupBuyStageRepository stageRepository;
+    private final ReservationWriteBehindService writeBehind;
+
+    /** 마감된 공구 카운터 보존 기간 (마감 직후 늦게 도착한 커밋/롤백 처리용) */
+    @Value("${order.reservation.redis.closed-ttl-seconds:86400}")
+    private long closedTtlSeconds;
+
+    @Value("${order.reservation.reconcile-interval-ms:60000}")
+    private long reconcileIntervalMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** 직전 보정 주기에서 관측한 편차. 두 주기 연속 같은 값일 때만 보정합니다. (진행중인 주문으로 인한 일시적 편차 배제) */
+    private final Map<String, Long> lastDrift = new ConcurrentHashMap<>();
+
+    @Override
+    public Reservation reserve(Product product, GroupBuy groupBuy, double qty) {
+        if (qty <= 0) throw new BusinessException(ExceptionType.INVALID_QTY);
+        long units = toUnits(qty);
+
+        if (groupBuy == null) {
+            List<?> res = redisTemplate.execute(RESERVE, List.of(productKey(product.getId())),
+                    String.valueOf(units),
+                    String.valueOf(toUnits(product.getStock())),
+                    String.valueOf(toUnits(product.getCurrentBaseQty())));
+            if (code(res) != OK) throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
+            redisTemplate.opsForSet().add(PRODUCTS, String.valueOf(product.getId()));
+            return new Reservation(product.getId(), null, qty, 0d, null);
+        }
+
+        List<String> keys = List.of(productKey(product.getId()), groupBuyKey(groupBuy.getId()), stagesKey(groupBuy.getId()));
+        Object[] args = {
+                String.valueOf(units),
+                String.valueOf(toUnits(product.getStock())),
+                String.valueOf(toUnits(product.getCurrentBaseQty())),
+                String.valueOf(toUnits(groupBuy.getTargetQty())),
+                String.valueOf(toUnits(groupBuy.getCurrentQty())),
+                groupBuy.getStatus() == GroupBuyStatus.OPEN ? "1" : "0"
+        };
+
+        List<?> res = redisTemplate.execute(RESERVE, keys, args);
+        if (code(res) == STAGES_MISSING) {
+            loadStages(groupBuy);
+            res = redisTemplate.execute(RESERVE, keys, args);
+        }
+
+        long code = code(res);
+        if (code == PRODUCT_OVERFLOW || code == GROUP_BUY_OVERFLOW) throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
+        if (code == GROUP_BUY_CLOSED) throw new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN);
+        // 단계를 다시 적재해도 없음: 단계가 없는 공구 (비관락 경로와 같은 예외)
+        if (code == STAGES_MISSING) throw new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND);
+        if (code != OK) throw new IllegalStateException("unexpected reserve result: " + res);
+
+        redisTemplate.opsForSet().add(PRODUCTS, String.valueOf(product.getId()));
+        redisTemplate.opsForSet().add(GROUP_BUYS, String.valueOf(groupBuy.getId()));
+
+        return new Reservation(product.getId(), groupBuy.getId(), qty,
+                fromUnits(((Number) res.get(1)).longValue()), ((Number) res.get(2)).intValue());
+    }
+
+    @Override
+    public void commit(Reservation r) {
+        adjust(r.productId(), r.groupBuyId(), 0, toUnits(r.qty()));
+    }
+
+    @Override
+    public void release(Reservation r) {
+        adjust(r.productId(), r.groupBuyId(), -toUnits(r.qty()), 0);
+    }
+
+    @Override
+    public void cancel(Long productId, Long groupBuyId, double qty) {
+        long units = toUnits(qty);
+        adjust(productId, groupBuyId, -units, -units);
+    }
+
+    @Override
+    public void absorbGroupBuyQty(Long groupBuyId, double qty) {
+        // 참여 API 는 DB 에 직접 반영되므로 used 만 올림 (pending 없음)
+        redisTemplate.execute(ADJUST,
+                List.of(groupBuyKey(groupBuyId), PENDING_GROUP_BUY),
+                String.valueOf(toUnits(qty)), "0", String.valueOf(groupBuyId), "");
+    }
+
+    @Override
+    public void closeGroupBuy(Long groupBuyId) {
+        redisTemplate.execute(SET_IF_EXISTS, List.of(groupBuyKey(groupBuyId)), "open", "0");
+        Duration ttl = Duration.ofSeconds(closedTtlSeconds);
+        redisTemplate.expire(groupBuyKey(groupBuyId), ttl);
+        redisTemplate.expire(stagesKey(groupBuyId), ttl);
+        redisTemplate.opsForSet().remove(GROUP_BUYS, String.valueOf(groupBuyId));
+    }
+
+    @Override
+    public void updateProductStock(Long productId, double stock) {
+        redisTemplate.execute(SET_IF_EXISTS, List.of(productKey(productId)), "limit", String.valueOf(toUnits(stock)));
+    }
+
+    /**
+     * pending 을 가져와 DB 에 반영. 가져오기는 원자적이므로 모든 노드가 동시에 돌아도 중복 반영되지 않습니다.
+     * 반영 실패 시 가져온 증감분을 pending 에 되돌립니다.
+     */
+    @Scheduled(fixedDelayString = "${order.reservation.flush-interval-ms:200}")
+    public void flush() {
+        Map<Long, Long> productUnits = drain(PENDING_PRODUCT);
+        Map<Long, Long> groupBuyUnits = drain(PENDING_GROUP_BUY);
+        if (productUnits.isEmpty() && groupBuyUnits.isEmpty()) return;
+
+        try {
+            writeBehind.apply(toQty(productUnits), toQty(groupBuyUnits));
+        } catch (Exception e) {
+            log.warn("[Reservation] write-behind failed. products={}, groupBuys={}, reason={}",
+                    productUnits.size(), groupBuyUnits.size(), e.getMessage());
+            productUnits.forEach((id, u) -> redisTemplate.opsForHash().increment(PENDING_PRODUCT, String.valueOf(id), u));
+            groupBuyUnits.forEach((id, u) -> redisTemplate.opsForHash().increment(PENDING_GROUP_BUY, String.valueOf(id), u));
+        }
+    }
+
+    /**
+     * 주기적 정합성 보정 (리더 1대만 수행).
+     * - DB 컬럼: 원천 합계 - (컬럼 + 아직 반영 안 된 pending) 편차를 증감분으로 반영
+     * - Redis used: 커밋/롤백 콜백 전에 노드가 죽어 남은 선점분을 원천 합계 기준으로 회수
+     */
+    @Scheduled(fixedDelayString = "${order.reservation.reconcile-interval-ms:60000}",
+            initialDelayString = "${order.reservation.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!acquireLeadership()) return;
+
+        try {
+            Set<Long> productIds = members(PRODUCTS);
+            Set<Long> groupBuyIds = members(GROUP_BUYS);
+
+            Map<Long, Double> productFix = new HashMap<>();
+            Map<Long, Double> groupBuyFix = new HashMap<>();
+            writeBehind.productTotals(productIds).forEach((id, t) ->
+                    check("p", id, productKey(id), PENDING_PRODUCT, t, productFix));
+            writeBehind.groupBuyTotals(groupBuyIds).forEach((id, t) ->
+                    check("g", id, groupBuyKey(id), PENDING_GROUP_BUY, t, groupBuyFix));
+
+            if (!productFix.isEmpty() || !groupBuyFix.isEmpty()) {
+                writeBehind.apply(productFix, groupBuyFix);
+                log.warn("[Reservation] reconciled. products={}, groupBuys={}", productFix, groupBuyFix);
+            }
+        } catch (Exception e) {
+            log.warn("[Reservation] reconcile failed. reason={}", e.getMessage());
+        }
+    }
+
+    private void check(String type, Long id, String counterKey, String pendingKey,
+                       ReservationWriteBehindService.Totals t, Map<Long, Double> dbFix) {
+        long expected = toUnits(t.expected());
+
+        Object pendingRaw = redisTemplate.opsForHash().get(pendingKey, String.valueOf(id));
+        long pending = pendingRaw == null ? 0 : Long.parseLong(pendingRaw.toString());
+        long dbDrift = expected - (toUnits(t.column()) + pending);
+        if (stable(type + ":db:" + id, dbDrift)) dbFix.put(id, fromUnits(dbDrift));
+
+        Object usedRaw = redisTemplate.opsForHash().get(counterKey, "used");
+        if (usedRaw == null) return;
+        long usedDrift = Long.parseLong(usedRaw.toString()) - expected;
+        if (stable(type + ":used:" + id, usedDrift)) {
+            redisTemplate.execute(ADJUST, List.of(counterKey, pendingKey),
+                    String.valueOf(-usedDrift), "0", String.valueOf(id), "");
+        }
+    }
+
+    /** 편차 이력이 노드 메모리에 있으므로 리더를 유지(연장)합니다. 리더가 죽으면 TTL 후 다른 노드가 이어받습니다. */
+    private boolean acquireLeadership() {
+        Duration ttl = Duration.ofMillis(reconcileIntervalMs * 2);
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK, nodeId, ttl))) return true;
+        if (nodeId.equals(redisTemplate.opsForValue().get(RECONCILE_LOCK))) {
+            redisTemplate.expire(RECONCILE_LOCK, ttl);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean stable(String key, long drift) {
+        if (drift == 0) {
+            lastDrift.remove(key);
+            return false;
+        }
+        Long prev = lastDrift.put(key, drift);
+        if (prev != null && prev == drift) {
+            lastDrift.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    private void loadStages(GroupBuy groupBuy) {
+        String key = stagesKey(groupBuy.getId());
+        for (GroupBuyStage s : stageRepository.findByGroupBuyOrderByStartQtyAsc(groupBuy)) {
+            redisTemplate.opsForZSet().add(key, String.valueOf(s.getLevel()), toUnits(s.getStartQty()));
+        }
+    }
+
+    private void adjust(Long productId, Long groupBuyId, long usedDelta, long pendingDelta) {
+        List<String> keys = (groupBuyId == null)
+                ? List.of(productKey(productId), PENDING_PRODUCT)
+                : List.of(productKey(productId), PENDING_PRODUCT, groupBuyKey(groupBuyId), PENDING_GROUP_BUY);
+        redisTemplate.execute(ADJUST, keys,
+                String.valueOf(usedDelta), String.valueOf(pendingDelta),
+                String.valueOf(productId), groupBuyId == null ? "" : String.valueOf(groupBuyId));
+    }
+
+    private Map<Long, Long> drain(String key) {
+        List<?> flat = redisTemplate.execute(DRAIN, List.of(key));
+        Map<Long, Long> result = new HashMap<>();
+        if (flat == null) return result;
+        for (int i = 0; i + 1 < flat.size(); i += 2) {
+            long units = Long.parseLong(flat.get(i + 1).toString());
+            if (units != 0) result.put(Long.parseLong(flat.get(i).toString()), units);
+        }
+        return result;
+    }
+
+    private Set<Long> members(String key) {
+        Set<String> raw = redisTemplate.opsForSet().members(key);
+        Set<Long> ids = new HashSet<>();
+        if (raw != null) raw.forEach(v -> ids.add(Long.parseLong(v)));
+        return ids;
+    }
+
+    private static Map<Long, Double> toQty(Map<Long, Long> units) {
+        Map<Long, Double> result = new HashMap<>();
+        units.forEach((id, u) -> result.put(id, fromUnits(u)));
+        return result;
+    }
+
+    private static long code(List<?> res) {
+        if (res == null || res.isEmpty()) throw new IllegalStateException("empty reserve result");
+        return ((Number) res.get(0)).longValue();
+    }
+
+    private static String productKey(Long id) {
+        return PREFIX + "product:" + id;
+    }
+
+    private static String groupBuyKey(Long id) {
+        return PREFIX + "gb:" + id;
+    }
+
+    private static String stagesKey(Long id) {
+        return PREFIX + "gb:" + id + ":stages";
+    }
+
+    private static long toUnits(double qty) {
+        return Math.round(qty * SCALE);
+    }
+
+    private static double fromUnits(long units) {
+        return units / SCALE;
+    }
+}
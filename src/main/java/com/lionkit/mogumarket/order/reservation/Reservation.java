@@ -0,0 +1,19 @@
+package com.lionkit.mogumarket.order.reservation;
+
+/**
+ * 선점 결과
+ * @param groupBuyId       일반 구매면 null
+ * @param groupQtyBefore   선점 직전 공구 누적 수량(단계 판정 기준). 일반 구매면 0
+ * @param stageLevel       엔진이 단계까지 판정한 경우의 단계 레벨, 아니면 null
+ */
+public record Reservation(
+        Long productId,
+        Long groupBuyId,
+        double qty,
+        double groupQtyBefore,
+        Integer stageLevel
+) {
+    public boolean isGroupBuy() {
+        return groupBuyId != null;
+    }
+}
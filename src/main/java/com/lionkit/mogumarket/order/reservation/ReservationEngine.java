@@ -0,0 +1,38 @@
+package com.lionkit.mogumarket.order.reservation;
+
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.product.entity.Product;
+
+/**
+ * 재고/공구 한도 선점(예약) 엔진.
+ * - order.reservation.mode 설정 시에만 빈이 등록되며, 없으면 OrderService 는 기존 비관락 경로를 사용합니다.
+ * - 선점은 DB 락 없이 수행하고, 확정된 증감분은 write-behind 로 Product.currentBaseQty / GroupBuy.currentQty 에 반영합니다.
+ */
+public interface ReservationEngine {
+
+    /**
+     * 재고(+공구 한도) 선점.
+     * @param groupBuy 일반 구매면 null
+     * @throws com.lionkit.mogumarket.global.base.response.exception.BusinessException
+     *         STOCK_OVERFLOW(재고/공구 한도 초과), GROUP_BUY_NOT_OPEN(마감된 공구)
+     */
+    Reservation reserve(Product product, GroupBuy groupBuy, double qty);
+
+    /** 주문 트랜잭션 커밋 후 호출: 선점분을 write-behind 대상으로 확정 */
+    void commit(Reservation reservation);
+
+    /** 주문 트랜잭션 롤백 후 호출: 선점분 반환 */
+    void release(Reservation reservation);
+
+    /** 이미 확정된 주문의 롤백(결제 실패 등). 커밋 이후 호출 */
+    void cancel(Long productId, Long groupBuyId, double qty);
+
+    /** 엔진을 거치지 않고 DB에 직접 반영된 공구 누적(참여 API 등)을 카운터에 흡수 */
+    void absorbGroupBuyQty(Long groupBuyId, double qty);
+
+    /** 공구 마감: 이후 선점 거절 */
+    void closeGroupBuy(Long groupBuyId);
+
+    /** 상품 재고 상한 변경 반영 */
+    void updateProductStock(Long productId, double stock);
+}
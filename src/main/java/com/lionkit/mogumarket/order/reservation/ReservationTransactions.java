@@ -0,0 +1,28 @@
+package com.lionkit.mogumarket.order.reservation;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 예약 엔진 카운터를 DB 트랜잭션 결과에 맞춰 움직이기 위한 헬퍼.
+ * 트랜잭션 밖에서 호출되면 즉시 실행합니다. (커밋 후 실행만 필요하면 global.transaction.TransactionCallbacks)
+ */
+public final class ReservationTransactions {
+
+    private ReservationTransactions() {}
+
+    /** 커밋되면 commit, 롤백되면 release */
+    public static void bind(ReservationEngine engine, Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            engine.commit(reservation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) engine.commit(reservation);
+                else engine.release(reservation);
+            }
+        });
+    }
+}
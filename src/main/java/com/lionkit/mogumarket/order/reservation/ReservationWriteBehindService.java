@@ -0,0 +1,127 @@
+package com.lionkit.mogumarket.order.reservation;
+
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.dto.GroupBuyProgressEvent;
+import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyUserRepository;
+import com.lionkit.mogumarket.order.repository.OrderLineRepository;
+import com.lionkit.mogumarket.product.entity.Product;
+import com.lionkit.mogumarket.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 예약 엔진이 모아둔 증감분을 DB 누적 컬럼에 반영합니다.
+ * - 주문 라인은 주문 트랜잭션에서 이미 커밋되므로, 누적 컬럼은 라인 합계로부터 언제든 복구 가능합니다.
+ * - 공구 누적은 주문 라인 + 참여 API(GroupBuyUser) 합계입니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationWriteBehindService {
+
+    private final ProductRepository productRepository;
+    private final GroupBuyRepository groupBuyRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final GroupBuyUserRepository groupBuyUserRepository;
+    private final ApplicationEventPublisher publisher;
+
+    /** 누적 컬럼 값과 원천 데이터(주문 라인 등) 합계 */
+    public record Totals(double column, double expected) {
+        public double drift() {
+            return expected - column;
+        }
+    }
+
+    /**
+     * 증감분 일괄 반영 (한 트랜잭션, 키당 UPDATE 1회)
+     * 항상 Product → GroupBuy 순서, id 오름차순으로 갱신해 주문 경로와 같은 락 순서를 유지합니다.
+     */
+    @Transactional
+    public void apply(Map<Long, Double> productDeltas, Map<Long, Double> groupBuyDeltas) {
+        productDeltas.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> productRepository.addCurrentBaseQty(e.getKey(), e.getValue()));
+
+        groupBuyDeltas.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    groupBuyRepository.addCurrentQty(e.getKey(), e.getValue(), GroupBuyStatus.OPEN, GroupBuyStatus.SUCCESS);
+                    publisher.publishEvent(new GroupBuyProgressEvent(e.getKey()));
+                });
+    }
+
+    /**
+     * 정합성 복구: 진행중(OPEN/SUCCESS) 공구와, 주문 라인이 있거나 누적 컬럼이 0이 아닌 모든 상품(일반 구매 포함)의
+     * 누적 컬럼을 원천 합계로 덮어씁니다.
+     * write-behind 반영 전에 프로세스가 죽어도 라인은 남아있으므로, 기동 시 1회 호출하면 누락분이 복구됩니다.
+     * @return 보정된 행 수
+     */
+    @Transactional
+    public int reconcile() {
+        List<GroupBuy> active = groupBuyRepository.findByStatusIn(List.of(GroupBuyStatus.OPEN, GroupBuyStatus.SUCCESS));
+
+        int fixed = 0;
+        for (GroupBuy gb : active) {
+            double expected = expectedGroupBuyQty(gb);
+            if (Double.compare(expected, gb.getCurrentQty()) != 0) {
+                log.warn("[Reservation] groupBuy drift. id={}, db={}, expected={}", gb.getId(), gb.getCurrentQty(), expected);
+                groupBuyRepository.overwriteCurrentQty(gb.getId(), expected);
+                fixed++;
+            }
+        }
+
+        // 상품별 라인 합계는 GROUP BY 한 번으로 (상품마다 합계 쿼리를 보내지 않음)
+        Map<Long, Double> lineTotals = new HashMap<>();
+        for (Object[] row : orderLineRepository.sumOrderedQtyGroupByProduct()) {
+            lineTotals.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+        Set<Long> productIds = new HashSet<>(lineTotals.keySet());
+        productIds.addAll(productRepository.findIdsWithCurrentBaseQty());
+
+        for (Product p : productRepository.findAllById(productIds)) {
+            double expected = lineTotals.getOrDefault(p.getId(), 0d);
+            if (Double.compare(expected, p.getCurrentBaseQty()) != 0) {
+                log.warn("[Reservation] product drift. id={}, db={}, lines={}", p.getId(), p.getCurrentBaseQty(), expected);
+                productRepository.overwriteCurrentBaseQty(p.getId(), expected);
+                fixed++;
+            }
+        }
+        return fixed;
+    }
+
+    /** 상품별 currentBaseQty 와 주문 라인 합계 */
+    @Transactional(readOnly = true)
+    public Map<Long, Totals> productTotals(Collection<Long> productIds) {
+        Map<Long, Totals> result = new HashMap<>();
+        for (Product p : productRepository.findAllById(productIds)) {
+            result.put(p.getId(), new Totals(p.getCurrentBaseQty(), orderLineRepository.sumOrderedQtyByProductId(p.getId())));
+        }
+        return result;
+    }
+
+    /** 공구별 currentQty 와 (주문 라인 + 참여 API) 합계 */
+    @Transactional(readOnly = true)
+    public Map<Long, Totals> groupBuyTotals(Collection<Long> groupBuyIds) {
+        Map<Long, Totals> result = new HashMap<>();
+        for (GroupBuy gb : groupBuyRepository.findAllById(groupBuyIds)) {
+            result.put(gb.getId(), new Totals(gb.getCurrentQty(), expectedGroupBuyQty(gb)));
+        }
+        return result;
+    }
+
+    private double expectedGroupBuyQty(GroupBuy gb) {
+        return orderLineRepository.sumOrderedQtyByGroupBuy(gb) + groupBuyUserRepository.sumTotalQtyByGroupBuyId(gb.getId());
+    }
+}
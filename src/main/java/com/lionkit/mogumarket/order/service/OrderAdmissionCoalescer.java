@@ -0,0 +1,191 @@
+package com.lionkit.mogumarket.order.service;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.order.dto.request.CreateOrderLineRequest;
+import com.lionkit.mogumarket.order.reservation.ReservationEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인기 상품 단건 주문 합류(group commit).
+ * - 같은 상품의 동시 요청을 window-ms 동안 모아 한 트랜잭션에서 처리: Product/GroupBuy 락 1회, 누적 UPDATE 1회
+ * - 주문(Orders)은 요청마다 따로 생성하고, 검증 실패는 해당 요청만 실패시킵니다.
+ * - 상품별로 동시에 하나의 배치만 돌며, 배치가 도는 동안 들어온 요청은 다음 배치로 합류합니다.
+ * - 타임아웃은 배치에 들어가기 전까지만 적용: 포기한 요청은 배치에서 제외하고, 이미 처리 중인 요청은 결과를 끝까지 기다립니다.
+ * (order.coalesce.enabled=true, 비관락 경로 전용 - 예약 엔진 모드에서는 합류 없이 바로 처리)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.coalesce.enabled", havingValue = "true")
+public class OrderAdmissionCoalescer {
+
+    /** 합류 대기 요청 */
+    public record Admission(Long userId, CreateOrderLineRequest request) {}
+
+    /** 요청별 처리 결과 (ordersId 또는 error) */
+    public record Outcome(Long ordersId, BusinessException error) {
+        public static Outcome ok(Long ordersId) { return new Outcome(ordersId, null); }
+        public static Outcome fail(BusinessException error) { return new Outcome(null, error); }
+    }
+
+    private static final class Pending {
+        final Admission admission;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+        /** 배치 포함(claim)과 호출 측 포기(abandon) 중 먼저 일어난 쪽만 성공 */
+        private final AtomicBoolean decided = new AtomicBoolean();
+
+        Pending(Admission admission) {
+            this.admission = admission;
+        }
+
+        boolean claim() {
+            return decided.compareAndSet(false, true);
+        }
+
+        boolean abandon() {
+            if (!decided.compareAndSet(false, true)) return false;
+            future.cancel(false);
+            return true;
+        }
+    }
+
+    private static final class Lane {
+        final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+
+    private final OrderService orderService;
+    private final boolean bypass;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    @Value("${order.coalesce.window-ms:3}")
+    private long windowMs;
+
+    @Value("${order.coalesce.max-batch:200}")
+    private int maxBatch;
+
+    @Value("${order.coalesce.threads:8}")
+    private int threads;
+
+    @Value("${order.coalesce.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private ScheduledExecutorService executor;
+
+    public OrderAdmissionCoalescer(OrderService orderService, Optional<ReservationEngine> reservationEngine) {
+        this.orderService = orderService;
+        this.bypass = reservationEngine.isPresent();
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "order-admission-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /** 합류 후 결과를 기다려 반환 (BusinessException 은 그대로 전달) */
+    public Long admit(Long userId, CreateOrderLineRequest request) {
+        if (bypass) return orderService.confirmSingleProductOrder(userId, request);
+        Pending pending = enqueue(userId, request);
+        try {
+            try {
+                return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 아직 배치 전이면 포기 표시(drain 이 건너뜀). 이미 처리 중이면 커밋 여부를 알 수 있도록 결과를 기다림
+                if (pending.abandon()) throw new BusinessException(ExceptionType.PRODUCT_LOCK_TIMEOUT);
+                return pending.future.get();
+            }
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            pending.abandon();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public CompletableFuture<Long> submit(Long userId, CreateOrderLineRequest request) {
+        return enqueue(userId, request).future;
+    }
+
+    private Pending enqueue(Long userId, CreateOrderLineRequest request) {
+        Pending pending = new Pending(new Admission(userId, request));
+        Long productId = request.productId();
+        Lane lane = lanes.computeIfAbsent(productId, k -> new Lane());
+        lane.queue.add(pending);
+        schedule(productId, lane, windowMs);
+        return pending;
+    }
+
+    private void schedule(Long productId, Lane lane, long delayMs) {
+        if (lane.scheduled.compareAndSet(false, true)) {
+            executor.schedule(() -> drain(productId, lane), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain(Long productId, Lane lane) {
+        List<Pending> batch = new ArrayList<>();
+        try {
+            Pending p;
+            while (batch.size() < maxBatch && (p = lane.queue.poll()) != null) {
+                if (p.claim()) batch.add(p); // 타임아웃으로 포기한 요청은 주문을 만들지 않음
+            }
+            if (!batch.isEmpty()) run(productId, batch);
+        } finally {
+            lane.scheduled.set(false);
+            // 배치 중 들어온 요청은 대기 없이 바로 다음 배치로
+            if (!lane.queue.isEmpty()) schedule(productId, lane, 0);
+        }
+    }
+
+    private void run(Long productId, List<Pending> batch) {
+        List<Outcome> outcomes;
+        try {
+            outcomes = orderService.admitBatch(productId, batch.stream().map(p -> p.admission).toList());
+        } catch (RuntimeException e) {
+            log.warn("[OrderAdmission] batch failed. productId={}, size={}, reason={}", productId, batch.size(), e.getMessage());
+            batch.forEach(p -> p.future.completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Outcome o = outcomes.get(i);
+            if (o.error() != null) batch.get(i).future.completeExceptionally(o.error());
+            else batch.get(i).future.complete(o.ordersId());
+        }
+        log.debug("[OrderAdmission] productId={}, batch={}", productId, batch.size());
+    }
+}
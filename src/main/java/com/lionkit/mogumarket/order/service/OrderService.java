@@ -2,11 +2,14 @@ package com.lionkit.mogumarket.order.service;
 
 import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
 import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
+import com.lionkit.mogumarket.global.transaction.TransactionCallbacks;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
-import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import com.lionkit.mogumarket.groupbuy.dto.GroupBuyProgressEvent;
 import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
-import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyStageCache;
 import com.lionkit.mogumarket.order.dto.request.CreateOrderLineRequest;
 import com.lionkit.mogumarket.order.dto.response.OrderLineResponse;
 import com.lionkit.mogumarket.order.dto.response.OrderSnapshotResponse;
@@ -15,17 +18,27 @@ import com.lionkit.mogumarket.order.entity.Orders;
 import com.lionkit.mogumarket.order.enums.OrderStatus;
 import com.lionkit.mogumarket.order.repository.OrderLineRepository;
 import com.lionkit.mogumarket.order.repository.OrderRepository;
+import com.lionkit.mogumarket.order.reservation.Reservation;
+import com.lionkit.mogumarket.order.reservation.ReservationEngine;
+import com.lionkit.mogumarket.order.reservation.ReservationTransactions;
 import com.lionkit.mogumarket.product.entity.Product;
+import com.lionkit.mogumarket.product.service.ProductOverviewCache;
 import com.lionkit.mogumarket.product.repository.ProductRepository;
 import com.lionkit.mogumarket.user.entity.User;
 import com.lionkit.mogumarket.user.repository.UserRepository;
 import jakarta.persistence.LockTimeoutException;
 import jakarta.persistence.PessimisticLockException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 // TODO : payment 연결
 @Service
@@ -40,7 +53,14 @@ public class OrderService {
 
 
     private final GroupBuyRepository groupBuyRepository;
-    private final GroupBuyStageRepository groupBuyStageRepository;
+    private final GroupBuyStageCache stageCache;
+    private final SnapshotFinalizeJob snapshotFinalizeJob;
+    private final ApplicationEventPublisher publisher;
+    private final ServiceMetrics metrics;
+    private final ProductOverviewCache overviewCache;
+
+    /** order.reservation.mode 설정 시에만 존재. 없으면 비관락 경로 */
+    private final Optional<ReservationEngine> reservationEngine;
 
     /**
      * 공구 주문 경로
@@ -51,49 +71,7 @@ public class OrderService {
         GroupBuy gbLocked = groupBuyRepository.findByIdForUpdate(gb.getId())
                 .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
 
-        if (gbLocked.getStatus() != GroupBuyStatus.OPEN) {
-            throw new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN);
-        }
-
-            // 남은 전체 재고 = product.stock - product.currentBaseQty (currentBaseQty에는 일반+공구 누적이 이미 포함됨)
-        double remainStock = product.getStock() - product.getCurrentBaseQty();
-        if (qtyBase > remainStock) throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
-
-
-        // 남은 공구 한도 = targetQty - gb.currentQty
-        double remainGroup  =  gbLocked.getTargetQty() - gbLocked.getCurrentQty();
-        if (qtyBase > remainGroup ) throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
-
-        // 현재 단계(참여 시점) 조회
-        double totalQtyBeforeJoin = gbLocked.getCurrentQty();
-        GroupBuyStage curGroupBuyStage = groupBuyStageRepository
-                .findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(gbLocked, totalQtyBeforeJoin)
-                .orElseThrow(()->new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND));
-
-
-        // 스냅샷 기반
-        int level = curGroupBuyStage.getLevel();
-        double discount = curGroupBuyStage.getDiscountPercent();
-        double appliedUnitPrice = curGroupBuyStage.getAppliedUnitPrice();
-
-        /**
-         * 누적 수량 반영
-         */
-        product.increaseCurrentBaseQty(qtyBase); // 전체 누적(일반+공구)에 포함
-        gbLocked.increaseQty(qtyBase); // 공구 누적 수량 반영
-
-        OrderLine line = OrderLine.builder()
-                .orders(orders)
-                .product(product)
-                .groupBuy(gbLocked)
-                .orderedBaseQty(qtyBase)
-                .levelSnapshot(level)
-                .discountPercentSnapshot(discount)
-                .unitPriceSnapshot(appliedUnitPrice)
-                .build();
-
-        orders.addLine(line); // 양방향 연결
-        return orderRepository.save(orders).getId(); // 캐스케이드(cascade=PERSIST )에 의해 자동 저장된다
+        return placeGroupBuyLine(orders, gbLocked, product, qtyBase);
     }
 
     /** 일반 주문 경로 (공구 미참여) */
@@ -141,8 +119,24 @@ public class OrderService {
     }
 
 
+    /**
+     * 다건 주문 확정. 락 대기(phase=lock_wait)와 나머지 처리(phase=work) 시간을 나눠 order.confirm 으로 기록합니다.
+     */
     @Transactional
     public Long confirmMultiProductOrder(Long userId, List<CreateOrderLineRequest> commands) {
+        ServiceMetrics.Split split = metrics.split("order.confirm");
+        try {
+            Long ordersId = confirmOrder(userId, commands, split);
+            split.success();
+            commands.forEach(c -> overviewCache.evictQuantities(c.productId()));
+            return ordersId;
+        } catch (RuntimeException e) {
+            split.failure(e);
+            throw e;
+        }
+    }
+
+    private Long confirmOrder(Long userId, List<CreateOrderLineRequest> commands, ServiceMetrics.Split split) {
         if (commands == null || commands.isEmpty()) {
             throw new BusinessException(ExceptionType.INVALID_QTYBASE); // 프로젝트에 맞는 BAD_REQUEST성 코드가 있으면 교체 권장
         }
@@ -165,9 +159,13 @@ public class OrderService {
                     .status(OrderStatus.CONFIRMED)
                     .build();
 
+            if (reservationEngine.isPresent()) {
+                return confirmWithReservationEngine(reservationEngine.get(), orders, sorted);
+            }
+
             for (CreateOrderLineRequest cmd : sorted) {
                 // 1) Product 비관락
-                Product product = productRepository.findForUpdate(cmd.productId())
+                Product product = split.lock(() -> productRepository.findForUpdate(cmd.productId()))
                         .orElseThrow(() -> new BusinessException(ExceptionType.PRODUCT_NOT_FOUND));
 
                 if (cmd.participateInGroupBuy()) {
@@ -177,7 +175,7 @@ public class OrderService {
                             .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
 
                     // 3) GroupBuy 비관락 (항상 Product 다음에)
-                    GroupBuy gbLocked = groupBuyRepository.findByIdForUpdate(openGb.getId())
+                    GroupBuy gbLocked = split.lock(() -> groupBuyRepository.findByIdForUpdate(openGb.getId()))
                             .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
                     if (gbLocked.getStatus() != GroupBuyStatus.OPEN) {
                         throw new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN);
@@ -192,17 +190,18 @@ public class OrderService {
 
                     // 5) 현재 단계 조회(참여 직전 누적 기준)
                     double totalQtyBeforeJoin = gbLocked.getCurrentQty();
-                    GroupBuyStage curStage = groupBuyStageRepository
-                            .findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(gbLocked, totalQtyBeforeJoin)
-                            .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND));
+                    GroupBuyStageTable stages = stageCache.get(gbLocked);
+                    int cur = stages.indexAt(totalQtyBeforeJoin);
+                    if (cur < 0) throw new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND);
 
-                    int level = curStage.getLevel();
-                    double discount = curStage.getDiscountPercent();
-                    double appliedUnitPrice = curStage.getAppliedUnitPrice();
+                    int level = stages.level(cur);
+                    double discount = stages.discountPercent(cur);
+                    double appliedUnitPrice = stages.appliedUnitPrice(cur);
 
                     // 6) 누적 반영
                     product.increaseCurrentBaseQty(cmd.qtyBase());
                     gbLocked.increaseQty(cmd.qtyBase());
+                    publisher.publishEvent(new GroupBuyProgressEvent(gbLocked.getId()));
 
                     // 7) 라인 생성
                     OrderLine line = OrderLine.builder()
@@ -251,32 +250,183 @@ public class OrderService {
 
 
     /**
-     * 공구 종료 시 OrderLine의 final 스냅샷 채우기
-     * - GroupBuyService.closeGroupBuy(...) 직후 호출 권장
+     * 같은 상품 단건 주문 묶음 처리 (OrderAdmissionCoalescer 전용)
+     * - Product(필요 시 GroupBuy) 락은 배치당 1회, 누적 수량은 커밋 시 UPDATE 1회로 반영
+     * - 요청은 도착 순서대로 직렬 처리한 것과 같은 결과(단계 스냅샷 포함)를 가지며, 검증 실패는 해당 요청만 실패
+     * - 배치당 락 대기(phase=lock_wait)와 나머지 처리(phase=work) 시간을 order.admit_batch 로 기록
      */
-    public void finalizeSnapshotsForGroupBuy(Long groupBuyId) {
-        GroupBuy gb = groupBuyRepository.findByIdForUpdate(groupBuyId)
-                .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
+    public List<OrderAdmissionCoalescer.Outcome> admitBatch(Long productId, List<OrderAdmissionCoalescer.Admission> admissions) {
+        overviewCache.evictQuantities(productId);
+        ServiceMetrics.Split split = metrics.split("order.admit_batch");
+        try {
+            List<OrderAdmissionCoalescer.Outcome> outcomes = admitLocked(productId, admissions, split);
+            split.success();
+            return outcomes;
+        } catch (RuntimeException e) {
+            split.failure(e);
+            throw e;
+        }
+    }
+
+    private List<OrderAdmissionCoalescer.Outcome> admitLocked(Long productId,
+                                                              List<OrderAdmissionCoalescer.Admission> admissions,
+                                                              ServiceMetrics.Split split) {
+        try {
+            Product product = split.lock(() -> productRepository.findForUpdate(productId))
+                    .orElseThrow(() -> new BusinessException(ExceptionType.PRODUCT_NOT_FOUND));
+
+            GroupBuy gbLocked = null;
+            if (admissions.stream().anyMatch(a -> a.request().participateInGroupBuy())) {
+                Optional<GroupBuy> openGb = groupBuyRepository
+                        .findTopByProductAndStatusOrderByCreatedAtDesc(product, GroupBuyStatus.OPEN);
+                if (openGb.isPresent()) {
+                    gbLocked = split.lock(() -> groupBuyRepository.findByIdForUpdate(openGb.get().getId()))
+                            .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
+                }
+            }
+
+            Map<Long, User> users = userRepository.findAllById(
+                            admissions.stream().map(OrderAdmissionCoalescer.Admission::userId).distinct().toList())
+                    .stream().collect(Collectors.toMap(User::getId, u -> u));
+
+            List<OrderAdmissionCoalescer.Outcome> outcomes = new ArrayList<>(admissions.size());
+            boolean groupBuyTouched = false;
+            for (OrderAdmissionCoalescer.Admission a : admissions) {
+                try {
+                    CreateOrderLineRequest cmd = a.request();
+                    if (cmd.qtyBase() <= 0) throw new BusinessException(ExceptionType.INVALID_QTYBASE);
+                    User user = users.get(a.userId());
+                    if (user == null) throw new BusinessException(ExceptionType.USER_NOT_FOUND);
+
+                    Orders orders = Orders.builder()
+                            .user(user)
+                            .status(OrderStatus.CONFIRMED)
+                            .build();
+
+                    if (cmd.participateInGroupBuy()) {
+                        if (gbLocked == null) throw new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND);
+                        outcomes.add(OrderAdmissionCoalescer.Outcome.ok(placeGroupBuyLine(orders, gbLocked, product, cmd.qtyBase())));
+                        groupBuyTouched = true;
+                    } else {
+                        outcomes.add(OrderAdmissionCoalescer.Outcome.ok(placeNormalOrder(orders, product, null, cmd.qtyBase())));
+                    }
+                } catch (BusinessException e) {
+                    outcomes.add(OrderAdmissionCoalescer.Outcome.fail(e));
+                }
+            }
+
+            if (groupBuyTouched) publisher.publishEvent(new GroupBuyProgressEvent(gbLocked.getId()));
+            return outcomes;
+
+        } catch (LockTimeoutException e) {
+            throw new BusinessException(ExceptionType.PRODUCT_LOCK_TIMEOUT);
+        } catch (PessimisticLockException e) {
+            throw new BusinessException(ExceptionType.PRODUCT_LOCK_CONFLICT);
+        }
+    }
+
+    /** 이미 잠근 Product/GroupBuy 에 공구 라인 1건 반영 (검증 → 누적 → 저장) */
+    private Long placeGroupBuyLine(Orders orders, GroupBuy gbLocked, Product product, double qtyBase) {
+        if (gbLocked.getStatus() != GroupBuyStatus.OPEN) {
+            throw new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN);
+        }
+
+        // 남은 전체 재고 = product.stock - product.currentBaseQty (currentBaseQty에는 일반+공구 누적이 이미 포함됨)
+        double remainStock = product.getStock() - product.getCurrentBaseQty();
+        if (qtyBase > remainStock) throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
+
+        // 남은 공구 한도 = targetQty - gb.currentQty
+        double remainGroup = gbLocked.getTargetQty() - gbLocked.getCurrentQty();
+        if (qtyBase > remainGroup) throw new BusinessException(ExceptionType.STOCK_OVERFLOW);
+
+        // 현재 단계(참여 시점) 조회
+        GroupBuyStageTable stages = stageCache.get(gbLocked);
+        int cur = stages.indexAt(gbLocked.getCurrentQty());
+        if (cur < 0) throw new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND);
+
+        product.increaseCurrentBaseQty(qtyBase);
+        gbLocked.increaseQty(qtyBase);
+
+        OrderLine line = OrderLine.builder()
+                .orders(orders)
+                .product(product)
+                .groupBuy(gbLocked)
+                .orderedBaseQty(qtyBase)
+                .levelSnapshot(stages.level(cur))
+                .discountPercentSnapshot(stages.discountPercent(cur))
+                .unitPriceSnapshot(stages.appliedUnitPrice(cur))
+                .build();
 
-        double totalGbQty = gb.getCurrentQty(); // 공구 누적 기준
-        GroupBuyStage finalStage = groupBuyStageRepository
-                .findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(gb, totalGbQty)
-                .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND));
+        orders.addLine(line);
+        return orderRepository.save(orders).getId();
+    }
 
-        int finalLevel = finalStage.getLevel();
-        double finalDiscount = finalStage.getDiscountPercent();
-        double finalUnitPrice = finalStage.getAppliedUnitPrice();
+    /**
+     * 예약 엔진 경로: Product/GroupBuy 행을 잠그지 않고 엔진 카운터로 선점합니다.
+     * - 누적 수량(currentBaseQty/currentQty)은 커밋 후 엔진이 write-behind 로 반영
+     * - 이 트랜잭션이 롤백되면 선점분은 엔진에 반환
+     */
+    private Long confirmWithReservationEngine(ReservationEngine engine, Orders orders, List<CreateOrderLineRequest> sorted) {
+        for (CreateOrderLineRequest cmd : sorted) {
+            Product product = productRepository.findById(cmd.productId())
+                    .orElseThrow(() -> new BusinessException(ExceptionType.PRODUCT_NOT_FOUND));
 
+            if (cmd.participateInGroupBuy()) {
+                GroupBuy openGb = groupBuyRepository
+                        .findTopByProductAndStatusOrderByCreatedAtDesc(product, GroupBuyStatus.OPEN)
+                        .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
 
-        /**
-         * lines 가 없다 == 해당 공구가 종료되었지만 실제로 참여한 인원이 없다.
-         * 안타깝긴해도 발생할 수 있는 상황이니 EXCEPTION 을 발생시키진 않습니다. (null 이면 조용히 넘어감)
-         */
-        List<OrderLine> lines = orderLineRepository.findByGroupBuy(gb);
-        for (OrderLine line : lines) {
-            line.finalizeSnapshots(finalLevel, finalDiscount, finalUnitPrice);
+                Reservation reservation = engine.reserve(product, openGb, cmd.qtyBase());
+                ReservationTransactions.bind(engine, reservation);
+
+                // 현재 단계(선점 직전 누적 기준). 엔진이 레벨까지 판정했으면 그대로 사용
+                GroupBuyStageTable stages = stageCache.get(openGb);
+                int cur = (reservation.stageLevel() != null)
+                        ? stages.indexOfLevel(reservation.stageLevel())
+                        : stages.indexAt(reservation.groupQtyBefore());
+                if (cur < 0) throw new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND);
+
+                OrderLine line = OrderLine.builder()
+                        .orders(orders)
+                        .product(product)
+                        .groupBuy(openGb)
+                        .orderedBaseQty(cmd.qtyBase())
+                        .levelSnapshot(stages.level(cur))
+                        .discountPercentSnapshot(stages.discountPercent(cur))
+                        .unitPriceSnapshot(stages.appliedUnitPrice(cur))
+                        .build();
+
+                orders.addLine(line);
+            } else {
+                Reservation reservation = engine.reserve(product, null, cmd.qtyBase());
+                ReservationTransactions.bind(engine, reservation);
+
+                OrderLine line = OrderLine.builder()
+                        .orders(orders)
+                        .product(product)
+                        .orderedBaseQty(cmd.qtyBase())
+                        .levelSnapshot(0)
+                        .discountPercentSnapshot(0.0)
+                        .unitPriceSnapshot(Math.round(product.getOriginalPricePerBaseUnit()))
+                        .build();
+
+                orders.addLine(line);
+            }
         }
-        // @Transactional -> Dirty Checking 반영됩니다.
+
+        return orderRepository.save(orders).getId();
+    }
+
+
+
+    /**
+     * 공구 종료 시 OrderLine의 final 스냅샷 채우기
+     * - 공구 마감 시 아웃박스(GROUP_BUY_FINALIZE)로 자동 실행되며, 수동 재실행용으로 남겨 둡니다.
+     * - 청크 단위로 커밋해야 하므로 서비스 트랜잭션을 타지 않습니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SnapshotFinalizeJob.Progress finalizeSnapshotsForGroupBuy(Long groupBuyId) {
+        return snapshotFinalizeJob.run(groupBuyId);
     }
 
     /**
@@ -290,6 +440,20 @@ public class OrderService {
 
         // 이미 실패로 처리된 주문이면 멱등 처리
         if (orders.getStatus() == OrderStatus.FAILED) return;
+        orders.getLines().forEach(line -> overviewCache.evictQuantities(line.getProduct().getId()));
+
+        // 예약 엔진 경로: 커밋 후 엔진 카운터와 write-behind 로 되돌림
+        if (reservationEngine.isPresent()) {
+            ReservationEngine engine = reservationEngine.get();
+            for (OrderLine line : orders.getLines()) {
+                Long productId = line.getProduct().getId();
+                Long groupBuyId = (line.getGroupBuy() != null) ? line.getGroupBuy().getId() : null;
+                double qty = line.getOrderedBaseQty();
+                TransactionCallbacks.afterCommit(() -> engine.cancel(productId, groupBuyId, qty));
+            }
+            orders.updateStatus(OrderStatus.FAILED);
+            return;
+        }
 
         // 라인별로 제품/공구 되돌리기(락은 라인 단위로 보수적으로)
         for (OrderLine line : orders.getLines()) {
@@ -304,6 +468,7 @@ public class OrderService {
                 GroupBuy gbLocked = groupBuyRepository.findByIdForUpdate(gb.getId())
                         .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
                 gbLocked.decreaseQty(line.getOrderedBaseQty());
+                publisher.publishEvent(new GroupBuyProgressEvent(gbLocked.getId()));
             }
         }
 
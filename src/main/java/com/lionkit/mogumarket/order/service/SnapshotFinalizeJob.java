@@ -0,0 +1,142 @@
+package com.lionkit.mogumarket.order.service;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyUserRepository;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyStageCache;
+import com.lionkit.mogumarket.order.repository.OrderLineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 공구 종료 시 주문 라인 final 스냅샷 확정 작업.
+ * - 최종 단계는 공구 누적(주문 라인 + 참여 API 합계) 기준으로 한 번만 계산하고, 라인은 id 구간(chunk-size) 단위 UPDATE 로 확정
+ * - 청크마다 별도 트랜잭션이므로 공구/라인 락을 오래 잡지 않으며, 같은 값으로 덮어쓰므로 재실행해도 안전
+ * - 진행률은 실행 노드 메모리에 보관 (retention 이후 정리)
+ */
+@Slf4j
+@Component
+public class SnapshotFinalizeJob {
+
+    public enum Status { RUNNING, DONE, FAILED }
+
+    public record Progress(Long groupBuyId, Status status, long total, long processed,
+                           LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+
+        public double percent() {
+            return total == 0 ? 100.0 : Math.min(100.0, processed * 100.0 / total);
+        }
+
+        Progress advance(long delta) {
+            return new Progress(groupBuyId, status, total, processed + delta, startedAt, finishedAt, error);
+        }
+
+        Progress finish(Status s, String err) {
+            return new Progress(groupBuyId, s, total, processed, startedAt, LocalDateTime.now(), err);
+        }
+    }
+
+    private final GroupBuyRepository groupBuyRepository;
+    private final GroupBuyStageCache stageCache;
+    private final OrderLineRepository orderLineRepository;
+    private final GroupBuyUserRepository groupBuyUserRepository;
+    private final TransactionTemplate tx;
+
+    private final Map<Long, Progress> progress = new ConcurrentHashMap<>();
+
+    @Value("${order.finalize.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${order.finalize.retention-minutes:60}")
+    private long retentionMinutes;
+
+    public SnapshotFinalizeJob(GroupBuyRepository groupBuyRepository,
+                               GroupBuyStageCache stageCache,
+                               OrderLineRepository orderLineRepository,
+                               GroupBuyUserRepository groupBuyUserRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.groupBuyRepository = groupBuyRepository;
+        this.stageCache = stageCache;
+        this.orderLineRepository = orderLineRepository;
+        this.groupBuyUserRepository = groupBuyUserRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    public Optional<Progress> progressOf(Long groupBuyId) {
+        return Optional.ofNullable(progress.get(groupBuyId));
+    }
+
+    /**
+     * 최종 스냅샷 확정. 트랜잭션 밖에서 호출해야 청크 단위로 커밋됩니다.
+     * 참여 라인이 없어도 정상 종료합니다.
+     */
+    public Progress run(Long groupBuyId) {
+        purgeFinished();
+
+        Progress current = progress.get(groupBuyId);
+        if (current != null && current.status() == Status.RUNNING) return current;
+
+        Stage stage = tx.execute(s -> resolveFinalStage(groupBuyId));
+        long total = orderLineRepository.countByGroupBuyId(groupBuyId);
+        progress.put(groupBuyId, new Progress(groupBuyId, Status.RUNNING, total, 0, LocalDateTime.now(), null, null));
+
+        try {
+            long afterId = 0L;
+            while (true) {
+                List<Long> ids = orderLineRepository.findIdsByGroupBuyIdAfter(groupBuyId, afterId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) break;
+
+                long from = afterId;
+                long to = ids.get(ids.size() - 1);
+                Integer updated = tx.execute(s -> orderLineRepository.finalizeSnapshots(
+                        groupBuyId, from, to, stage.level(), stage.discount(), stage.unitPrice()));
+                progress.computeIfPresent(groupBuyId, (k, p) -> p.advance(updated == null ? 0 : updated));
+
+                afterId = to;
+                if (ids.size() < chunkSize) break;
+            }
+        } catch (RuntimeException e) {
+            progress.computeIfPresent(groupBuyId, (k, p) -> p.finish(Status.FAILED, e.getMessage()));
+            throw e;
+        }
+
+        Progress done = progress.computeIfPresent(groupBuyId, (k, p) -> p.finish(Status.DONE, null));
+        log.info("[Finalize] groupBuyId={}, level={}, lines={}", groupBuyId, stage.level(), done.processed());
+        return done;
+    }
+
+    private record Stage(int level, double discount, double unitPrice) {}
+
+    private Stage resolveFinalStage(Long groupBuyId) {
+        GroupBuy gb = groupBuyRepository.findById(groupBuyId)
+                .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_FOUND));
+
+        // currentQty 컬럼은 예약 엔진 모드에서 write-behind 로 늦게 반영되므로 원천 합계(정합성 복구와 같은 기준)로 계산
+        double finalQty = orderLineRepository.sumOrderedQtyByGroupBuy(gb)
+                + groupBuyUserRepository.sumTotalQtyByGroupBuyId(groupBuyId);
+
+        GroupBuyStageTable stages = stageCache.get(gb);
+        int fin = stages.indexAt(finalQty);
+        if (fin < 0) throw new BusinessException(ExceptionType.GROUP_BUY_STAGE_NOT_FOUND);
+
+        return new Stage(stages.level(fin), stages.discountPercent(fin), stages.appliedUnitPrice(fin));
+    }
+
+    private void purgeFinished() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        progress.values().removeIf(p -> p.finishedAt() != null && p.finishedAt().isBefore(threshold));
+    }
+}
@@ -0,0 +1,64 @@
+package com.lionkit.mogumarket.outbox.entity;
+
+import com.lionkit.mogumarket.global.base.domain.BaseEntity;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭션 아웃박스.
+ * 비즈니스 변경과 같은 트랜잭션에서 저장되고, 커밋 이후 OutboxDispatcher 가 배치로 꺼내 처리합니다.
+ * (JVM 이 커밋 직후 죽어도 이벤트가 유실되지 않음)
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "outbox_event",
+        indexes = @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"))
+public class OutboxEvent extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    /** 집계 ID (공구 ID, 결제 ID 등) */
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    /** 핸들러에 필요한 값(JSON). 처리 시점에 엔티티를 다시 읽지 않도록 필요한 값을 담아둡니다. */
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /** 디스패처 인스턴스 식별자(다중 노드 선점용) */
+    @Column(length = 64)
+    private String claimedBy;
+
+    private LocalDateTime claimedAt;
+
+    @Column(length = 500)
+    private String lastError;
+}
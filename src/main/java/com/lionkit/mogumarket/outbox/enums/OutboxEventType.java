@@ -0,0 +1,11 @@
+package com.lionkit.mogumarket.outbox.enums;
+
+public enum OutboxEventType {
+    GROUP_BUY_JOINED,        // 참여 API 참여 완료 (참여자 본인 알림)
+    GROUP_BUY_SUCCESS,       // 목표 달성 (참여자 전체 알림)
+    GROUP_BUY_CLOSED,        // 마감 (참여자 전체 알림)
+    GROUP_BUY_CLOSING_SOON,  // 마감 임박 (참여자 + 장바구니 관심 사용자 알림)
+    GROUP_BUY_FINALIZE,      // 마감 후 주문 라인 final 스냅샷 확정
+    PAYMENT_STATUS_CHANGED,  // 결제 상태 전이 (구매자 알림)
+    PRODUCT_REINDEX          // 상품 생성/수정/삭제 → 검색 색인 반영
+}
@@ -0,0 +1,8 @@
+package com.lionkit.mogumarket.outbox.enums;
+
+public enum OutboxStatus {
+    PENDING,     // 발행 대기 (재시도 대기 포함)
+    PROCESSING,  // 디스패처가 가져감
+    DONE,        // 처리 완료
+    DEAD         // 최대 재시도 초과
+}
@@ -0,0 +1,17 @@
+package com.lionkit.mogumarket.outbox.handler;
+
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 아웃박스 이벤트 처리기. 각 도메인이 구현해 빈으로 등록합니다.
+ * 예외를 던지면 디스패처가 백오프 후 재시도합니다. (최소 1회 전달이므로 멱등하게 작성)
+ */
+public interface OutboxEventHandler {
+
+    Set<OutboxEventType> supports();
+
+    void handle(OutboxEventType type, Long aggregateId, Map<String, String> payload) throws Exception;
+}
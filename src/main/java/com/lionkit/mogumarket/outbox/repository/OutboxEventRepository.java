@@ -0,0 +1,96 @@
+package com.lionkit.mogumarket.outbox.repository;
+
+import com.lionkit.mogumarket.outbox.entity.OutboxEvent;
+import com.lionkit.mogumarket.outbox.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** 처리 가능한 이벤트 ID (오래된 순) */
+    @Query("""
+           select e.id from OutboxEvent e
+           where e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.PENDING
+             and e.nextAttemptAt <= :now
+           order by e.id
+           """)
+    List<Long> findReadyIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /** 선점: 아직 PENDING 인 행만 내 것으로 표시 (다른 노드가 먼저 가져간 행은 제외됨) */
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.PROCESSING,
+                  e.claimedBy = :claimedBy,
+                  e.claimedAt = :now
+            where e.id in :ids
+              and e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.PENDING
+           """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy, @Param("now") LocalDateTime now);
+
+    List<OutboxEvent> findByClaimedByAndStatusOrderByIdAsc(String claimedBy, OutboxStatus status);
+
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.DONE,
+                  e.claimedBy = null
+            where e.id in :ids
+           """)
+    int markDone(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.status = :status,
+                  e.attempts = :attempts,
+                  e.nextAttemptAt = :nextAttemptAt,
+                  e.lastError = :lastError,
+                  e.claimedBy = null
+            where e.id = :id
+           """)
+    int markFailed(@Param("id") Long id,
+                   @Param("status") OutboxStatus status,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    /** 선점 연장: 처리 중인 내 행의 claimedAt 갱신 (stale 회수 대상에서 제외) */
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.claimedAt = :now
+            where e.id in :ids
+              and e.claimedBy = :claimedBy
+              and e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.PROCESSING
+           """)
+    int renewClaims(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy, @Param("now") LocalDateTime now);
+
+    /** 처리 도중 노드가 죽어 PROCESSING 으로 남은 행을 되돌림 */
+    @Modifying
+    @Query("""
+           update OutboxEvent e
+              set e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.PENDING,
+                  e.claimedBy = null
+            where e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.PROCESSING
+              and e.claimedAt < :cutoff
+           """)
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("""
+           delete from OutboxEvent e
+            where e.status = com.lionkit.mogumarket.outbox.enums.OutboxStatus.DONE
+              and e.createdAt < :cutoff
+           """)
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,172 @@
+package com.lionkit.mogumarket.outbox.service;
+
+import com.lionkit.mogumarket.outbox.entity.OutboxEvent;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.handler.OutboxEventHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 아웃박스 배치 디스패처.
+ * - poll 주기마다 최대 batch-size 개를 선점(다중 노드 안전)하고, 고정 크기 풀에서 병렬 처리합니다.
+ * - 배치 단위로 완료 처리(UPDATE 1회), 실패 건은 지수 백오프 후 재시도, max-attempts 초과 시 DEAD.
+ * - 처리 중인 행은 renew-interval 마다 선점을 연장해, 오래 걸리는 핸들러가 stale 로 회수되어 중복 실행되지 않게 합니다.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+    private final OutboxStats stats;
+    private final Map<OutboxEventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEventType.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    /** 이 노드가 선점해 아직 완료/실패 처리하지 않은 이벤트 id */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.concurrency:4}")
+    private int concurrency;
+
+    @Value("${outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${outbox.backoff-ms:1000}")
+    private long backoffMs;
+
+    @Value("${outbox.stale-after-ms:300000}")
+    private long staleAfterMs;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    private ThreadPoolExecutor executor;
+
+    public OutboxDispatcher(OutboxService outboxService, OutboxStats stats, List<OutboxEventHandler> handlerBeans) {
+        this.outboxService = outboxService;
+        this.stats = stats;
+        for (OutboxEventHandler h : handlerBeans) {
+            for (OutboxEventType type : h.supports()) {
+                OutboxEventHandler prev = handlers.put(type, h);
+                if (prev != null) throw new IllegalStateException("duplicate outbox handler for " + type);
+            }
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger seq = new AtomicInteger();
+        // 큐 = 배치 크기: 배치 하나가 통째로 들어가고, 넘치면 호출(스케줄러) 스레드가 직접 처리해 자연스럽게 속도 조절
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, batchSize)),
+                r -> {
+                    Thread t = new Thread(r, "outbox-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        List<OutboxEvent> batch = outboxService.claimBatch(nodeId, batchSize);
+        if (batch.isEmpty()) return;
+        batch.forEach(e -> inFlight.add(e.getId()));
+
+        List<Long> done = new ArrayList<>(batch.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger dead = new AtomicInteger();
+
+        for (OutboxEvent event : batch) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    handle(event);
+                    synchronized (done) {
+                        done.add(event.getId());
+                    }
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    if (outboxService.markFailed(event, e.getClass().getSimpleName() + ": " + e.getMessage(), maxAttempts, backoffMs)) {
+                        dead.incrementAndGet();
+                        log.error("[Outbox] dead. id={}, type={}, reason={}", event.getId(), event.getEventType(), e.getMessage());
+                    } else {
+                        log.warn("[Outbox] retry scheduled. id={}, type={}, attempts={}, reason={}",
+                                event.getId(), event.getEventType(), event.getAttempts() + 1, e.getMessage());
+                    }
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        try {
+            outboxService.markDone(done);
+        } finally {
+            batch.forEach(e -> inFlight.remove(e.getId()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long maxLag = batch.stream()
+                .map(OutboxEvent::getCreatedAt)
+                .filter(Objects::nonNull)
+                .mapToLong(c -> Duration.between(c, now).toMillis())
+                .max().orElse(0);
+        stats.recordBatch(done.size(), failed.get(), dead.get(), maxLag);
+        log.debug("[Outbox] batch size={}, done={}, failed={}, maxLagMs={}", batch.size(), done.size(), failed.get(), maxLag);
+    }
+
+    /** 처리 중인 행의 선점 연장 (stale-after 보다 짧은 주기) */
+    @Scheduled(fixedDelayString = "${outbox.renew-interval-ms:60000}")
+    public void renewClaims() {
+        if (inFlight.isEmpty()) return;
+        outboxService.renewClaims(nodeId, List.copyOf(inFlight));
+    }
+
+    /** 처리 중 노드가 죽어 PROCESSING 으로 남은 행 회수 (살아있는 노드의 행은 renewClaims 로 claimedAt 이 갱신됨) */
+    @Scheduled(fixedDelayString = "${outbox.stale-check-interval-ms:60000}")
+    public void releaseStale() {
+        int released = outboxService.releaseStale(LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000L));
+        if (released > 0) log.warn("[Outbox] released stale claims. count={}", released);
+    }
+
+    /** 완료 행 정리 (매일 04:00) */
+    @Scheduled(cron = "${outbox.purge-cron:0 0 4 * * *}")
+    public void purge() {
+        int purged = outboxService.purgeDone(LocalDateTime.now().minusDays(retentionDays));
+        log.info("[Outbox] purged done events. count={}", purged);
+    }
+
+    private void handle(OutboxEvent event) throws Exception {
+        OutboxEventHandler handler = handlers.get(event.getEventType());
+        if (handler == null) throw new IllegalStateException("no outbox handler for " + event.getEventType());
+        handler.handle(event.getEventType(), event.getAggregateId(), outboxService.read(event.getPayload()));
+    }
+}
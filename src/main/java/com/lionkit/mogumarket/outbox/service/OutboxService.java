@@ -0,0 +1,113 @@
+package com.lionkit.mogumarket.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lionkit.mogumarket.outbox.entity.OutboxEvent;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.enums.OutboxStatus;
+import com.lionkit.mogumarket.outbox.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final TypeReference<Map<String, String>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper om = new ObjectMapper();
+
+    /**
+     * 이벤트 적재. 반드시 비즈니스 트랜잭션 안에서 호출합니다. (같이 커밋/롤백)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, Long aggregateId, Map<String, String> payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .payload(write(payload))
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        outboxEventRepository.save(event);
+    }
+
+    /** 처리 가능한 이벤트를 최대 batchSize 개 선점해 반환 */
+    @Transactional
+    public List<OutboxEvent> claimBatch(String claimedBy, int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEventRepository.findReadyIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) return List.of();
+
+        outboxEventRepository.claim(ids, claimedBy, now);
+        return outboxEventRepository.findByClaimedByAndStatusOrderByIdAsc(claimedBy, OutboxStatus.PROCESSING);
+    }
+
+    @Transactional
+    public void markDone(Collection<Long> ids) {
+        if (!ids.isEmpty()) outboxEventRepository.markDone(ids);
+    }
+
+    /** 실패 기록. maxAttempts 에 도달하면 DEAD, 아니면 backoff 후 재시도 */
+    @Transactional
+    public boolean markFailed(OutboxEvent event, String error, int maxAttempts, long backoffMs) {
+        int attempts = event.getAttempts() + 1;
+        boolean dead = attempts >= maxAttempts;
+        long delay = backoffMs << Math.min(attempts - 1, 10); // 지수 백오프(상한 2^10배)
+        String reason = (error != null && error.length() > 500) ? error.substring(0, 500) : error;
+
+        outboxEventRepository.markFailed(event.getId(),
+                dead ? OutboxStatus.DEAD : OutboxStatus.PENDING,
+                attempts,
+                LocalDateTime.now().plusNanos(delay * 1_000_000L),
+                reason);
+        return dead;
+    }
+
+    @Transactional
+    public int renewClaims(String claimedBy, Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        return outboxEventRepository.renewClaims(ids, claimedBy, LocalDateTime.now());
+    }
+
+    @Transactional
+    public int releaseStale(LocalDateTime cutoff) {
+        return outboxEventRepository.releaseStale(cutoff);
+    }
+
+    @Transactional
+    public int purgeDone(LocalDateTime cutoff) {
+        return outboxEventRepository.deleteDoneBefore(cutoff);
+    }
+
+    @Transactional(readOnly = true)
+    public long countPending() {
+        return outboxEventRepository.countByStatus(OutboxStatus.PENDING);
+    }
+
+    public Map<String, String> read(String payload) {
+        if (payload == null || payload.isBlank()) return Map.of();
+        try {
+            return om.readValue(payload, PAYLOAD_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("invalid outbox payload", e);
+        }
+    }
+
+    private String write(Map<String, String> payload) {
+        try {
+            return om.writeValueAsString(payload == null ? Map.of() : payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("outbox payload serialize failed", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.lionkit.mogumarket.outbox.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 아웃박스 디스패처 처리 통계 (누적) */
+@Component
+public class OutboxStats {
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    /** 마지막 배치에서 관측한 최대 지연(적재 → 처리 완료), ms */
+    private final AtomicLong lastMaxLagMs = new AtomicLong();
+
+    void recordBatch(int succeeded, int failedCount, int deadCount, long maxLagMs) {
+        batches.incrementAndGet();
+        dispatched.addAndGet(succeeded);
+        failed.addAndGet(failedCount);
+        dead.addAndGet(deadCount);
+        lastMaxLagMs.set(maxLagMs);
+    }
+
+    public long dispatched() { return dispatched.get(); }
+    public long failed() { return failed.get(); }
+    public long dead() { return dead.get(); }
+    public long batches() { return batches.get(); }
+    public long lastMaxLagMs() { return lastMaxLagMs.get(); }
+}
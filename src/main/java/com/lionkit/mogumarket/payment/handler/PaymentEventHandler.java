@@ -0,0 +1,48 @@
+package com.lionkit.mogumarket.payment.handler;
+
+import com.lionkit.mogumarket.notification.service.NotificationFacade;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.handler.OutboxEventHandler;
+import com.lionkit.mogumarket.payment.enums.PaymentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 결제 상태 전이 아웃박스 이벤트 처리: 구매자 알림
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentEventHandler implements OutboxEventHandler {
+
+    private final NotificationFacade notificationFacade;
+
+    @Override
+    public Set<OutboxEventType> supports() {
+        return Set.of(OutboxEventType.PAYMENT_STATUS_CHANGED);
+    }
+
+    @Override
+    public void handle(OutboxEventType type, Long paymentId, Map<String, String> payload) {
+        PaymentStatus status = PaymentStatus.valueOf(payload.get("status"));
+        String title = switch (status) {
+            case PAID -> "결제 완료";
+            case PARTIAL_CANCELLED -> "부분 환불 완료";
+            case CANCELLED -> "결제 취소";
+            case FAILED -> "결제 실패";
+            case READY, PAY_PENDING -> null;
+        };
+        if (title == null) return;
+
+        notificationFacade.notifyUsers(
+                List.of(Long.valueOf(payload.get("userId"))),
+                title,
+                "주문번호 " + payload.get("ordersId") + " 의 결제 상태가 변경되었습니다.",
+                Map.of("event", "PAYMENT_" + status.name(),
+                        "paymentId", String.valueOf(paymentId),
+                        "ordersId", payload.get("ordersId")));
+    }
+}
@@ -2,11 +2,14 @@ package com.lionkit.mogumarket.payment.service;
 
 import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
 import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
 import com.lionkit.mogumarket.order.entity.OrderLine;
 import com.lionkit.mogumarket.order.entity.Orders;
 import com.lionkit.mogumarket.order.enums.OrderStatus;
 import com.lionkit.mogumarket.order.repository.OrderRepository;
 import com.lionkit.mogumarket.order.service.OrderService;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.service.OutboxService;
 import com.lionkit.mogumarket.payment.adapter.PaymentGateway;
 import com.lionkit.mogumarket.payment.dto.response.PaymentSnapshotResponse;
 import com.lionkit.mogumarket.payment.entity.Payment;
@@ -41,6 +44,8 @@ public class PaymentService {
     private final PaymentHistoryRepository paymentHistoryRepository;
     private final OrderRepository orderRepository;
     private final OrderService orderService;
+    private final OutboxService outboxService;
+    private final ServiceMetrics metrics;
 
     /**
      * Port / Adapter (PortOne 구현체 주입)
@@ -131,6 +136,15 @@ public class PaymentService {
             @Nullable String msgIdHeader,
             @Nullable String signatureHeader,
             @Nullable String timestampHeader
+    ) {
+        metrics.run("payment.webhook", () -> processPortoneWebhook(rawBody, msgIdHeader, signatureHeader, timestampHeader));
+    }
+
+    private void processPortoneWebhook(
+            String rawBody,
+            @Nullable String msgIdHeader,
+            @Nullable String signatureHeader,
+            @Nullable String timestampHeader
     ) {
         // 1) 서명 검증 + 파싱(예외 발생 시 401/400 처리 컨트롤러에서)
         PaymentGateway.WebhookEvent ev = gateway.verifyAndParseWebhook(rawBody, msgIdHeader, signatureHeader, timestampHeader);
@@ -162,8 +176,10 @@ public class PaymentService {
         }
 
         // 서버 스냅샷 기준 상태 반영
+        PaymentStatus prevStatus = payment.getCurrentPaymentStatus();
         PaymentStatus newStatus = snap.status();
         payment.setCurrentPaymentStatus(newStatus);
+        if (prevStatus != newStatus) appendStatusChanged(payment);
 
         // (선택) 금액/통화 보정 필요 시 여기에서 확인/보정 가능
         // - 예: 포트원 금액(snap.totalAmount()) != 우리 amount() → 감사로그 후 reconcile 정책
@@ -196,6 +212,19 @@ public class PaymentService {
         }
     }
 
+    /** 결제 상태 전이 → 아웃박스 (구매자 알림은 커밋 후 디스패처가 처리) */
+    private void appendStatusChanged(Payment payment) {
+        PaymentStatus status = payment.getCurrentPaymentStatus();
+        if (status == PaymentStatus.READY || status == PaymentStatus.PAY_PENDING) return;
+
+        Orders orders = payment.getOrders();
+        outboxService.append(OutboxEventType.PAYMENT_STATUS_CHANGED, payment.getId(), Map.of(
+                "userId", String.valueOf(orders.getUser().getId()),
+                "ordersId", String.valueOf(orders.getId()),
+                "status", status.name(),
+                "amount", String.valueOf(payment.getAmount())));
+    }
+
     private void ensurePortoneDetail(Payment payment, PaymentGateway.PaymentLookupResult snap) {
         if (payment.getPortonePaymentDetail() != null) return;
 
@@ -315,6 +344,7 @@ public class PaymentService {
         // 3-3) 상태 전이
         long refunded = p.getTotalRefundAmount();
         long limit = refundableAtPayment;
+        PaymentStatus prevStatus = p.getCurrentPaymentStatus();
         if (refunded < limit) {
             p.setCurrentPaymentStatus(PaymentStatus.PARTIAL_CANCELLED);
         } else {
@@ -323,6 +353,7 @@ public class PaymentService {
             // 필요시 재고/공구 롤백 (결제 전액 현금 환불 완료 시점에만)
             orderService.rollbackStocks(p.getOrders().getId());
         }
+        if (prevStatus != p.getCurrentPaymentStatus()) appendStatusChanged(p);
 
 
 
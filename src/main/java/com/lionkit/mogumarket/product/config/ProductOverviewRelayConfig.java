@@ -0,0 +1,30 @@
+package com.lionkit.mogumarket.product.config;
+
+import com.lionkit.mogumarket.product.service.ProductOverviewCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다중 노드에서 상품 개요 캐시(L1) 무효화를 Redis pub/sub 으로 전파합니다. (product.overview.relay=redis)
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.overview.relay", havingValue = "redis")
+public class ProductOverviewRelayConfig {
+
+    @Bean
+    public RedisMessageListenerContainer productOverviewListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          ProductOverviewCache overviewCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> overviewCache.evictLocal(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(ProductOverviewCache.CHANNEL));
+        return container;
+    }
+}
@@ -1,6 +1,7 @@
 package com.lionkit.mogumarket.product.controller;
 
 import com.lionkit.mogumarket.category.enums.CategoryType;
+import com.lionkit.mogumarket.global.base.pagination.CursorPageResponse;
 import com.lionkit.mogumarket.product.dto.response.ProductOverviewResponse;
 import com.lionkit.mogumarket.product.dto.response.ProductResponse;
 import com.lionkit.mogumarket.product.enums.SortType;
@@ -28,9 +29,10 @@ public class ProductReadController {
 
     @GetMapping("/filter")
     public ResponseEntity<List<ProductResponse>> getProducts(
-            @RequestParam(defaultValue = "NEWEST") SortType sort
+            @RequestParam(defaultValue = "NEWEST") SortType sort,
+            @RequestParam(required = false) Integer size
     ) {
-        return ResponseEntity.ok(productReadService.filterProducts(sort));
+        return ResponseEntity.ok(productReadService.filterProducts(sort, size));
     }
 
     @GetMapping("/{productId}/overview")
@@ -94,4 +96,40 @@ public class ProductReadController {
     ) {
         return ResponseEntity.ok(productReadService.listByPrice(minPrice, maxPrice, page, size));
     }
+
+    /* ===== 커서(keyset) 목록: 최신순, nextCursor 를 다음 요청의 cursor 로 전달 ===== */
+
+    @GetMapping("/category/{category}/cursor")
+    @Operation(summary = "카테고리별 상품 목록(커서)", description = "withCount=true 이면 전체 건수를 함께 반환합니다.")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> listByCategoryCursor(
+            @PathVariable CategoryType category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        return ResponseEntity.ok(productReadService.listByCategoryCursor(category, cursor, size, withCount));
+    }
+
+    @GetMapping("/by-categories/cursor")
+    @Operation(summary = "여러 카테고리 상품 목록(커서)", description = "withCount=true 이면 전체 건수를 함께 반환합니다.")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> listByCategoriesCursor(
+            @RequestParam List<CategoryType> categories,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        return ResponseEntity.ok(productReadService.listByCategoriesCursor(categories, cursor, size, withCount));
+    }
+
+    @GetMapping("/price/cursor")
+    @Operation(summary = "가격 범위로 상품 조회(커서)", description = "withCount=true 이면 전체 건수를 함께 반환합니다.")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> listByPriceCursor(
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        return ResponseEntity.ok(productReadService.listByPriceCursor(minPrice, maxPrice, cursor, size, withCount));
+    }
 }
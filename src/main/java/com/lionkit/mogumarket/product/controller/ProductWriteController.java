@@ -1,4 +1,5 @@
 package com.lionkit.mogumarket.product.controller;
+import com.lionkit.mogumarket.global.base.pagination.CursorPageResponse;
 import com.lionkit.mogumarket.product.dto.request.ProductSaveRequest;
 import com.lionkit.mogumarket.product.dto.ProductUpdateDto;
 import com.lionkit.mogumarket.product.dto.response.ProductResponse;
@@ -91,6 +92,25 @@ public class ProductWriteController {
         return ResponseEntity.ok(productWriteService.list(page, size,marketId));
     }
 
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "상품 목록(커서)",
+            description = "상품 목록을 id 내림차순 커서 방식으로 조회합니다. 응답의 nextCursor 를 다음 요청의 cursor 로 넘기면 됩니다."
+    )
+    @Parameters({
+            @Parameter(name = "cursor", description = "이전 응답의 nextCursor (첫 페이지는 생략)"),
+            @Parameter(name = "size", description = "페이지 크기", example = "10"),
+            @Parameter(name = "withCount", description = "전체 건수 포함 여부 (COUNT 쿼리 추가)", example = "false")
+    })
+    public ResponseEntity<CursorPageResponse<ProductResponse>> listProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Long marketId,
+            @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        return ResponseEntity.ok(productWriteService.listByCursor(cursor, size, marketId, withCount));
+    }
+
     // 상품 전체 수정
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "상품 수정", description = "상품 상세를 수정합니다. JSON 메타데이터와 이미지 파일을 multipart로 전송합니다.")
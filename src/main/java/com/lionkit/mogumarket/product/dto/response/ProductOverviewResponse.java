@@ -1,5 +1,8 @@
 package com.lionkit.mogumarket.product.dto.response;
 
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import com.lionkit.mogumarket.product.entity.Product;
 import lombok.Builder;
 
 import java.util.List;
@@ -35,6 +38,71 @@ public record ProductOverviewResponse(
         ProgressInfo progressInfo
 ) {
 
+    /**
+     * 상품 + 공구 + 단계 테이블로 개요 응답 조립 (DB 접근 없음)
+     */
+    public static ProductOverviewResponse of(Product p, GroupBuy gb, GroupBuyStageTable stages) {
+        return of(ProductOverviewStatic.of(p, gb, stages), p.getCurrentBaseQty(), gb.getCurrentQty());
+    }
+
+    /**
+     * 정적 부분 + 누적 수량(상품 전체 / 공구)으로 개요 응답 조립
+     */
+    public static ProductOverviewResponse of(ProductOverviewStatic s, double currentBaseQty, double currentQty) {
+        List<StageBrief> stages = s.stages();
+
+        // 현재 스테이지: 없으면 베이스 스테이지(할인 0, 단가 = base snapshot)로 간주
+        int cur = s.indexAt(currentQty);
+
+        double discountPercent = (cur >= 0) ? stages.get(cur).discountPercent() : 0d;
+        double appliedUnitPrice = (cur >= 0) ? stages.get(cur).appliedUnitPrice() : s.basePricePerBaseUnitSnapshot();
+
+        // 다음 스테이지
+        int next = cur + 1;
+        double remainingToNext = (next >= stages.size()) ? 0d : Math.max(0d, stages.get(next).startQty() - currentQty);
+
+        // 재고 및 진행률
+        double aloneBuyRemain = Math.max(0d, s.stock() - currentBaseQty);
+        double groupBuyRemain = Math.max(0d, s.targetQty() - currentQty);
+        double normalOrdered = Math.max(0d, currentBaseQty - currentQty);
+        double progressPercent = (s.targetQty() > 0d)
+                ? Math.min(100d, (currentQty / s.targetQty()) * 100d)
+                : 0d;
+
+        return ProductOverviewResponse.builder()
+                .basicInfo(s.basicInfo())
+                .storeInfo(s.storeInfo())
+                .groupBuyInfo(GroupBuyInfo.builder()
+                        .groupBuyId(s.groupBuyId())
+                        .stages(stages)
+                        .build())
+                .priceInfo(PriceInfo.builder()
+                        .originalPricePerBaseUnit(s.originalPricePerBaseUnit())
+                        .basePricePerBaseUnitSnapshot(s.basePricePerBaseUnitSnapshot())
+                        .appliedUnitPrice(appliedUnitPrice)
+                        .build())
+                .discountInfo(DiscountInfo.builder()
+                        .maxDiscountPercent(s.maxDiscountPercent())
+                        .discountPercent(discountPercent)
+                        .build())
+                .stockInfo(StockInfo.builder()
+                        .stock(s.stock())
+                        .aloneBuyStock(aloneBuyRemain)
+                        .groupBuyStock(groupBuyRemain)
+                        .build())
+                .orderInfo(OrderInfo.builder()
+                        .currentBaseQty(currentBaseQty)
+                        .currentProductQty(normalOrdered)
+                        .currentQty(currentQty)
+                        .build())
+                .progressInfo(ProgressInfo.builder()
+                        .remainingToNextStage(remainingToNext)
+                        .progressPercent(progressPercent)
+                        .build())
+                .build();
+    }
+
+
     /**
      * 기본 상품 정보
      */
@@ -0,0 +1,73 @@
+package com.lionkit.mogumarket.product.dto.response;
+
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStageTable;
+import com.lionkit.mogumarket.product.entity.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 개요 중 거의 바뀌지 않는 부분 (상품/가게/공구 단계). 캐시에 저장되는 단위입니다.
+ * 누적 수량은 포함하지 않으며, ProductOverviewResponse.of(static, currentBaseQty, currentQty) 로 조립합니다.
+ * stages 는 startQty 오름차순
+ */
+public record ProductOverviewStatic(
+        ProductOverviewResponse.BasicInfo basicInfo,
+        ProductOverviewResponse.StoreInfo storeInfo,
+        Long groupBuyId,
+        List<ProductOverviewResponse.StageBrief> stages,
+        double originalPricePerBaseUnit,
+        double basePricePerBaseUnitSnapshot,
+        double maxDiscountPercent,
+        double stock,
+        double targetQty
+) {
+
+    public static ProductOverviewStatic of(Product p, GroupBuy gb, GroupBuyStageTable stages) {
+        List<ProductOverviewResponse.StageBrief> briefs = new ArrayList<>(stages.size());
+        for (int i = 0; i < stages.size(); i++) {
+            briefs.add(new ProductOverviewResponse.StageBrief(
+                    stages.level(i),
+                    stages.startQty(i),
+                    stages.discountPercent(i),
+                    stages.appliedUnitPrice(i)
+            ));
+        }
+
+        return new ProductOverviewStatic(
+                ProductOverviewResponse.BasicInfo.builder()
+                        .productId(p.getId())
+                        .name(p.getName())
+                        .unit(p.getUnit().name())
+                        .imageUrl(p.getImageUrl())
+                        .build(),
+                ProductOverviewResponse.StoreInfo.builder()
+                        .storeId(p.getStore().getId())
+                        .storeName(p.getStore().getName())
+                        .build(),
+                gb.getId(),
+                List.copyOf(briefs),
+                p.getOriginalPricePerBaseUnit(),
+                gb.getBasePricePerBaseUnitSnapshot(),
+                gb.getMaxDiscountPercent(),
+                p.getStock(),
+                gb.getTargetQty()
+        );
+    }
+
+    /** startQty <= qty 인 마지막 단계 인덱스, 없으면 -1 (GroupBuyStageTable.indexAt 과 같은 규칙) */
+    public int indexAt(double qty) {
+        int lo = 0, hi = stages.size() - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (stages.get(mid).startQty() <= qty) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+}
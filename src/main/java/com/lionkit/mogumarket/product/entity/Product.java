@@ -15,6 +15,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +25,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "idx_product_category_created_at", columnList = "category, created_at"),
+        @Index(name = "idx_product_price_created_at", columnList = "original_price_per_base_unit, created_at"),
+        @Index(name = "idx_product_modified_at", columnList = "modified_at")
+})
+@DynamicUpdate // 변경 컬럼만 UPDATE: 예약 엔진 write-behind 로 갱신되는 currentBaseQty 를 덮어쓰지 않도록
 public class Product extends BaseEntity {
 
     @Id
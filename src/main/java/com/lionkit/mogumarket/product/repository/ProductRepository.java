@@ -1,6 +1,7 @@
 package com.lionkit.mogumarket.product.repository;
 
 import com.lionkit.mogumarket.category.enums.CategoryType;
+import com.lionkit.mogumarket.product.dto.response.ProductResponse;
 import com.lionkit.mogumarket.product.entity.Product;
 import io.lettuce.core.dynamic.annotation.Param;
 import jakarta.persistence.LockModeType;
@@ -10,11 +11,32 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    /**
+     * 목록 응답 projection: 엔티티/리뷰 컬렉션을 로딩하지 않고 필요한 컬럼과 평균 별점만 조회
+     */
+    String RESPONSE_SELECT = """
+      select new com.lionkit.mogumarket.product.dto.response.ProductResponse(
+          p.id, p.name, p.description, p.imageUrl, p.originalPricePerBaseUnit, p.stock,
+          s.id, s.name,
+          coalesce((select avg(r.rating) from Review r where r.product = p), 0.0),
+          p.unit, p.createdAt)
+      from Product p
+      join p.store s
+    """;
+
+    /** (createdAt desc, id desc) keyset 조건. cursorId 가 null 이면 첫 페이지 */
+    String AFTER_CREATED_AT = """
+      (:cursorId is null
+        or (p.createdAt <= :cursorCreatedAt
+            and (p.createdAt < :cursorCreatedAt or p.id < :cursorId)))
+    """;
+
     Page<Product> findByStoreId(Long storeId, Pageable pageable);
 
 
@@ -51,6 +73,11 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     @EntityGraph(attributePaths = {"store", "store.market"})
     List<Product> findAllBy(); // ← select * from product 와 동일하게 동작
+
+    /** 공구까지 함께 로딩 (장바구니 일괄 변경 시 상품별 추가 조회 방지) */
+    @EntityGraph(attributePaths = {"groupBuy"})
+    List<Product> findAllWithGroupBuyByIdIn(Collection<Long> ids);
+
     @Query("""
       select p
       from Product p
@@ -60,8 +87,102 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     """)
     Optional<Product> findWithStoreAndMarketById(@org.springframework.data.repository.query.Param("id") Long id);
 
+    /**
+     * 예약 엔진 write-behind 반영용: 누적 수량 증감 (행을 읽지 않고 단일 UPDATE)
+     */
+    @Modifying
+    @Query("update Product p set p.currentBaseQty = p.currentBaseQty + :delta where p.id = :id")
+    int addCurrentBaseQty(@org.springframework.data.repository.query.Param("id") Long id,
+                          @org.springframework.data.repository.query.Param("delta") double delta);
 
-}
+    /** 누적 컬럼이 0이 아닌 상품 (라인이 모두 실패 처리된 상품의 복구 대상) */
+    @Query("select p.id from Product p where p.currentBaseQty <> 0")
+    List<Long> findIdsWithCurrentBaseQty();
+
+    /**
+     * 예약 엔진 재기동 시 정합성 복구용: 누적 수량 덮어쓰기
+     */
+    @Modifying
+    @Query("update Product p set p.currentBaseQty = :qty where p.id = :id")
+    int overwriteCurrentBaseQty(@org.springframework.data.repository.query.Param("id") Long id,
+                                @org.springframework.data.repository.query.Param("qty") double qty);
+
+    /** 상품 개요 정적 부분 로딩 (가게/공구 함께, 공구 없는 상품은 제외) */
+    @Query("""
+      select p
+      from Product p
+      join fetch p.store
+      join fetch p.groupBuy
+      where p.id = :id
+    """)
+    Optional<Product> findOverviewById(@org.springframework.data.repository.query.Param("id") Long id);
 
+    /** 상품 개요 변동 부분: 누적 수량만 조회 (엔티티 로딩 없음) */
+    @Query("""
+      select p.currentBaseQty as currentBaseQty, g.currentQty as currentQty
+      from Product p
+      join p.groupBuy g
+      where p.id = :id
+    """)
+    Optional<QuantityRow> findQuantities(@org.springframework.data.repository.query.Param("id") Long id);
+
+    interface QuantityRow {
+        double getCurrentBaseQty();
+        double getCurrentQty();
+    }
+
+    /* ===== keyset 페이지네이션 (size + 1 건 조회, COUNT 없음) ===== */
+
+    @Query(RESPONSE_SELECT + " where p.category = :category and " + AFTER_CREATED_AT
+            + " order by p.createdAt desc, p.id desc")
+    List<ProductResponse> findPageByCategory(@org.springframework.data.repository.query.Param("category") CategoryType category,
+                                             @org.springframework.data.repository.query.Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @org.springframework.data.repository.query.Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    @Query(RESPONSE_SELECT + " where p.category in :categories and " + AFTER_CREATED_AT
+            + " order by p.createdAt desc, p.id desc")
+    List<ProductResponse> findPageByCategories(@org.springframework.data.repository.query.Param("categories") List<CategoryType> categories,
+                                               @org.springframework.data.repository.query.Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                               @org.springframework.data.repository.query.Param("cursorId") Long cursorId,
+                                               Pageable pageable);
+
+    @Query(RESPONSE_SELECT + " where p.originalPricePerBaseUnit between :min and :max and " + AFTER_CREATED_AT
+            + " order by p.createdAt desc, p.id desc")
+    List<ProductResponse> findPageByPrice(@org.springframework.data.repository.query.Param("min") double min,
+                                          @org.springframework.data.repository.query.Param("max") double max,
+                                          @org.springframework.data.repository.query.Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @org.springframework.data.repository.query.Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(RESPONSE_SELECT + " where (:cursorId is null or p.id < :cursorId) order by p.id desc")
+    List<ProductResponse> findPage(@org.springframework.data.repository.query.Param("cursorId") Long cursorId,
+                                   Pageable pageable);
 
+    @Query(RESPONSE_SELECT + " where s.market.id = :marketId and (:cursorId is null or p.id < :cursorId) order by p.id desc")
+    List<ProductResponse> findPageByMarketId(@org.springframework.data.repository.query.Param("marketId") Long marketId,
+                                             @org.springframework.data.repository.query.Param("cursorId") Long cursorId,
+                                             Pageable pageable);
 
+    @Query(RESPONSE_SELECT + " where s.id = :storeId and (:cursorId is null or p.id < :cursorId) order by p.id desc")
+    List<ProductResponse> findPageByStoreId(@org.springframework.data.repository.query.Param("storeId") Long storeId,
+                                            @org.springframework.data.repository.query.Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    /** 정렬 기준을 Pageable 로 받는 상한 있는 목록 (filter) */
+    @Query(RESPONSE_SELECT)
+    List<ProductResponse> findResponses(Pageable pageable);
+
+    /* ===== withCount=true 일 때만 사용하는 COUNT ===== */
+
+    long countByCategory(CategoryType category);
+
+    long countByCategoryIn(List<CategoryType> categories);
+
+    long countByOriginalPricePerBaseUnitBetween(double min, double max);
+
+    long countByStoreId(Long storeId);
+
+    long countByStore_Market_Id(Long marketId);
+
+}
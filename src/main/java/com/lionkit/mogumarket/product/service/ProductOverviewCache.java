@@ -0,0 +1,144 @@
+package com.lionkit.mogumarket.product.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lionkit.mogumarket.global.transaction.TransactionCallbacks;
+import com.lionkit.mogumarket.product.dto.response.ProductOverviewStatic;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 상품 개요 2단 캐시.
+ * - 정적 부분(상품/가게/단계): 로컬 Caffeine(L1) → Redis(L2) → DB. 상품 수정/공구 생성·마감 커밋 후 무효화
+ * - 변동 부분(누적 수량): 로컬에만 아주 짧게 보관하고 주문/참여/롤백 커밋 후 무효화
+ * - product.overview.relay=redis 이면 정적 부분 무효화를 다른 노드 L1 에도 전파합니다. (없으면 l1-ttl 로 수렴)
+ */
+@Slf4j
+@Component
+public class ProductOverviewCache {
+
+    public static final String CHANNEL = "product:overview:invalidate";
+    private static final String KEY_PREFIX = "product:overview:static:";
+
+    /** 누적 수량 스냅샷 */
+    public record Quantities(double currentBaseQty, double currentQty) {}
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectMapper om = new ObjectMapper();
+    private final Cache<Long, ProductOverviewStatic> statics;
+    private final Cache<Long, Quantities> quantities;
+    /** 무효화 세대. 로딩 도중 무효화가 끼어들면 로딩 결과를 캐시하지 않음 (정적/변동 별도) */
+    private final AtomicLong staticGeneration = new AtomicLong();
+    private final AtomicLong quantityGeneration = new AtomicLong();
+
+    @Value("${product.overview.redis-ttl-ms:600000}")
+    private long redisTtlMs;
+
+    @Value("${product.overview.relay:none}")
+    private String relay;
+
+    public ProductOverviewCache(ObjectProvider<StringRedisTemplate> redisTemplate,
+                                @Value("${product.overview.l1-ttl-ms:30000}") long l1TtlMs,
+                                @Value("${product.overview.volatile-ttl-ms:500}") long volatileTtlMs,
+                                @Value("${product.overview.max-entries:10000}") long maxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.statics = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(l1TtlMs))
+                .build();
+        this.quantities = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(volatileTtlMs))
+                .build();
+    }
+
+    public ProductOverviewStatic getStatic(Long productId, Supplier<ProductOverviewStatic> loader) {
+        ProductOverviewStatic cached = statics.getIfPresent(productId);
+        if (cached != null) return cached;
+
+        long gen = staticGeneration.get();
+        ProductOverviewStatic remote = readRemote(productId);
+        if (remote != null) {
+            if (staticGeneration.get() == gen) statics.put(productId, remote);
+            return remote;
+        }
+
+        ProductOverviewStatic loaded = loader.get();
+        if (staticGeneration.get() == gen) {
+            statics.put(productId, loaded);
+            writeRemote(productId, loaded);
+        }
+        return loaded;
+    }
+
+    public Quantities getQuantities(Long productId, Supplier<Quantities> loader) {
+        Quantities cached = quantities.getIfPresent(productId);
+        if (cached != null) return cached;
+
+        long gen = quantityGeneration.get();
+        Quantities loaded = loader.get();
+        if (quantityGeneration.get() == gen) quantities.put(productId, loaded);
+        return loaded;
+    }
+
+    /** 상품/공구 정보 변경: 커밋 후 정적·변동 부분 모두 무효화 */
+    public void evict(Long productId) {
+        TransactionCallbacks.afterCommit(() -> {
+            evictLocal(productId);
+            StringRedisTemplate redis = redisTemplate.getIfAvailable();
+            if (redis == null) return;
+            try {
+                redis.delete(KEY_PREFIX + productId);
+                if ("redis".equals(relay)) redis.convertAndSend(CHANNEL, String.valueOf(productId));
+            } catch (Exception e) {
+                log.warn("[ProductOverviewCache] remote evict failed. productId={}, reason={}", productId, e.getMessage());
+            }
+        });
+    }
+
+    /** 누적 수량 변경(주문/참여/롤백): 커밋 후 변동 부분만 무효화 */
+    public void evictQuantities(Long productId) {
+        TransactionCallbacks.afterCommit(() -> {
+            quantityGeneration.incrementAndGet();
+            quantities.invalidate(productId);
+        });
+    }
+
+    /** 이 노드의 L1 무효화 (다른 노드에서 전파된 무효화 포함) */
+    public void evictLocal(Long productId) {
+        staticGeneration.incrementAndGet();
+        quantityGeneration.incrementAndGet();
+        statics.invalidate(productId);
+        quantities.invalidate(productId);
+    }
+
+    private ProductOverviewStatic readRemote(Long productId) {
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis == null) return null;
+        try {
+            String json = redis.opsForValue().get(KEY_PREFIX + productId);
+            return json == null ? null : om.readValue(json, ProductOverviewStatic.class);
+        } catch (Exception e) {
+            log.debug("[ProductOverviewCache] remote read failed. productId={}, reason={}", productId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(Long productId, ProductOverviewStatic value) {
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForValue().set(KEY_PREFIX + productId, om.writeValueAsString(value), Duration.ofMillis(redisTtlMs));
+        } catch (Exception e) {
+            log.debug("[ProductOverviewCache] remote write failed. productId={}, reason={}", productId, e.getMessage());
+        }
+    }
+}
@@ -1,141 +1,99 @@
 package com.lionkit.mogumarket.product.service;
 
 import com.lionkit.mogumarket.category.enums.CategoryType;
+import com.lionkit.mogumarket.global.base.pagination.CursorPageResponse;
+import com.lionkit.mogumarket.global.base.pagination.KeysetCursor;
 import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
 import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
-import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
-import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyStageCache;
 import com.lionkit.mogumarket.product.dto.response.ProductOverviewResponse;
+import com.lionkit.mogumarket.product.dto.response.ProductOverviewStatic;
 import com.lionkit.mogumarket.product.dto.response.ProductResponse;
 import com.lionkit.mogumarket.product.entity.Product;
 import com.lionkit.mogumarket.product.enums.SortType;
 import com.lionkit.mogumarket.product.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ProductReadService {
 
     private final ProductRepository productRepository;
     private final GroupBuyRepository groupBuyRepository;
-    private final GroupBuyStageRepository stageRepository;
+    private final GroupBuyStageCache stageCache;
+    private final ProductOverviewCache overviewCache;
+    private final TransactionTemplate readOnlyTx;
+
+    @Value("${product.filter.default-size:50}")
+    private int filterDefaultSize;
+
+    @Value("${product.filter.max-size:200}")
+    private int filterMaxSize;
+
+    public ProductReadService(ProductRepository productRepository,
+                              GroupBuyRepository groupBuyRepository,
+                              GroupBuyStageCache stageCache,
+                              ProductOverviewCache overviewCache,
+                              PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.groupBuyRepository = groupBuyRepository;
+        this.stageCache = stageCache;
+        this.overviewCache = overviewCache;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
 
 
 
 
-    @Transactional(readOnly = true)
+    /**
+     * 상품 개요. 정적 부분과 누적 수량을 각각 캐시에서 읽고, 미스일 때만 DB 를 조회합니다.
+     * (캐시 적중 시 트랜잭션/커넥션을 잡지 않도록 트랜잭션 밖에서 실행)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductOverviewResponse getOverview(Long productId) {
-        Product p = productRepository.findById(productId)
-                .orElseThrow(() -> new BusinessException(ExceptionType.PRODUCT_NOT_FOUND));
+        ProductOverviewStatic s = overviewCache.getStatic(productId, () -> readOnlyTx.execute(status -> loadStatic(productId)));
+        ProductOverviewCache.Quantities q = overviewCache.getQuantities(productId, () -> productRepository.findQuantities(productId)
+                .map(r -> new ProductOverviewCache.Quantities(r.getCurrentBaseQty(), r.getCurrentQty()))
+                .orElseThrow(() -> new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN)));
+        return ProductOverviewResponse.of(s, q.currentBaseQty(), q.currentQty());
+    }
 
+    private ProductOverviewStatic loadStatic(Long productId) {
+        Product p = productRepository.findOverviewById(productId).orElse(null);
+        if (p == null) {
+            if (!productRepository.existsById(productId)) throw new BusinessException(ExceptionType.PRODUCT_NOT_FOUND);
+            throw new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN);
+        }
         GroupBuy gb = p.getGroupBuy();
-        if (gb == null) throw new BusinessException(ExceptionType.GROUP_BUY_NOT_OPEN);
-
-        // 스테이지 목록(오름차순)
-        List<GroupBuyStage> stages = stageRepository.findByGroupBuyOrderByStartQtyAsc(gb);
-        double curQty = gb.getCurrentQty();
-
-        // 현재 스테이지: 없으면 베이스 스테이지(할인 0, 단가 = base snapshot)로 간주
-        var curOpt = stageRepository
-                .findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(gb, curQty);
-
-        double discountPercent = curOpt.map(GroupBuyStage::getDiscountPercent).orElse(0d);
-        double appliedUnitPrice = curOpt.map(GroupBuyStage::getAppliedUnitPrice)
-                .orElse(gb.getBasePricePerBaseUnitSnapshot());
-
-        // 다음 스테이지
-        GroupBuyStage nextStage = stages.stream()
-                .filter(s -> curQty < s.getStartQty())
-                .findFirst()
-                .orElse(null);
-        double remainingToNext = (nextStage == null) ? 0d : Math.max(0d, nextStage.getStartQty() - curQty);
-
-        // 브리프 변환
-        var stageBriefs = stages.stream()
-                .map(s -> new ProductOverviewResponse.StageBrief(
-                        s.getLevel(),
-                        s.getStartQty(),
-                        s.getDiscountPercent(),
-                        s.getAppliedUnitPrice()
-                ))
-                .toList();
-
-        // 재고 및 진행률
-        double aloneBuyRemain = Math.max(0d, p.getStock() - p.getCurrentBaseQty());
-        double groupBuyRemain = Math.max(0d, gb.getTargetQty() - gb.getCurrentQty());
-        double totalOrdered = p.getCurrentBaseQty();
-        double groupOrdered = gb.getCurrentQty();
-        double normalOrdered = Math.max(0d, totalOrdered - groupOrdered);
-        double progressPercent = (gb.getTargetQty() > 0d)
-                ? Math.min(100d, (groupOrdered / gb.getTargetQty()) * 100d)
-                : 0d;
-
-        return ProductOverviewResponse.builder()
-                .basicInfo(ProductOverviewResponse.BasicInfo.builder()
-                        .productId(p.getId())
-                        .name(p.getName())
-                        .unit(p.getUnit().name())
-                        .imageUrl(p.getImageUrl())
-                        .build())
-                .storeInfo(ProductOverviewResponse.StoreInfo.builder()
-                        .storeId(p.getStore().getId())
-                        .storeName(p.getStore().getName())
-                        .build())
-                .groupBuyInfo(ProductOverviewResponse.GroupBuyInfo.builder()
-                        .groupBuyId(gb.getId())
-                        .stages(stageBriefs)
-                        .build())
-                .priceInfo(ProductOverviewResponse.PriceInfo.builder()
-                        .originalPricePerBaseUnit(p.getOriginalPricePerBaseUnit())
-                        .basePricePerBaseUnitSnapshot(gb.getBasePricePerBaseUnitSnapshot())
-                        .appliedUnitPrice(appliedUnitPrice)
-                        .build())
-                .discountInfo(ProductOverviewResponse.DiscountInfo.builder()
-                        .maxDiscountPercent(gb.getMaxDiscountPercent())
-                        .discountPercent(discountPercent)
-                        .build())
-                .stockInfo(ProductOverviewResponse.StockInfo.builder()
-                        .stock(p.getStock())
-                        .aloneBuyStock(aloneBuyRemain)
-                        .groupBuyStock(groupBuyRemain)
-                        .build())
-                .orderInfo(ProductOverviewResponse.OrderInfo.builder()
-                        .currentBaseQty(totalOrdered)
-                        .currentProductQty(normalOrdered)
-                        .currentQty(groupOrdered)
-                        .build())
-                .progressInfo(ProductOverviewResponse.ProgressInfo.builder()
-                        .remainingToNextStage(remainingToNext)
-                        .progressPercent(progressPercent)
-                        .build())
-                .build();
+        return ProductOverviewStatic.of(p, gb, stageCache.get(gb));
     }
 
 
     /**
      * 상품 필터링 서비스
-     * SortType에 따라 상품을 정렬하여 반환합니다.
+     * SortType에 따라 상품을 정렬하여 반환합니다. (전체 조회 대신 size 건까지만)
      */
-    public List<ProductResponse> filterProducts(SortType sortType) {
-        Sort sort = Sort.by(sortType.getDirection(), sortType.getField());
-        List<Product> products = productRepository.findAll(sort);
-
-        return products.stream()
-                .map(ProductResponse::fromEntity)
-                .toList();
+    public List<ProductResponse> filterProducts(SortType sortType, Integer size) {
+        int s = (size == null || size < 1) ? filterDefaultSize : Math.min(size, filterMaxSize);
+        Sort sort = Sort.by(sortType.getDirection(), sortType.getField())
+                .and(Sort.by(Sort.Direction.DESC, "id"));
+        return productRepository.findResponses(PageRequest.of(0, s, sort));
     }
 
 
@@ -165,4 +123,44 @@ public class ProductReadService {
                 .findByOriginalPricePerBaseUnitBetweenOrderByCreatedAtDesc(lo, hi, pageable)
                 .map(ProductResponse::fromEntity);
     }
-}
\ No newline at end of file
+
+    /* ===== 커서(keyset) 목록: (createdAt desc, id desc), withCount=true 일 때만 COUNT ===== */
+
+    public CursorPageResponse<ProductResponse> listByCategoryCursor(CategoryType category, String cursor, Integer size, boolean withCount) {
+        KeysetCursor c = KeysetCursor.decodeTimed(cursor);
+        int s = pageSize(size);
+        List<ProductResponse> rows = productRepository.findPageByCategory(
+                category, c == null ? null : c.createdAt(), c == null ? null : c.id(), PageRequest.ofSize(s + 1));
+        return CursorPageResponse.of(rows, s, ProductReadService::cursorOf,
+                withCount ? productRepository.countByCategory(category) : null);
+    }
+
+    public CursorPageResponse<ProductResponse> listByCategoriesCursor(List<CategoryType> categories, String cursor, Integer size, boolean withCount) {
+        KeysetCursor c = KeysetCursor.decodeTimed(cursor);
+        int s = pageSize(size);
+        List<ProductResponse> rows = productRepository.findPageByCategories(
+                categories, c == null ? null : c.createdAt(), c == null ? null : c.id(), PageRequest.ofSize(s + 1));
+        return CursorPageResponse.of(rows, s, ProductReadService::cursorOf,
+                withCount ? productRepository.countByCategoryIn(categories) : null);
+    }
+
+    public CursorPageResponse<ProductResponse> listByPriceCursor(Double min, Double max, String cursor, Integer size, boolean withCount) {
+        double lo = (min == null) ? 0 : min;
+        double hi = (max == null) ? Double.MAX_VALUE : max;
+        KeysetCursor c = KeysetCursor.decodeTimed(cursor);
+        int s = pageSize(size);
+        List<ProductResponse> rows = productRepository.findPageByPrice(
+                lo, hi, c == null ? null : c.createdAt(), c == null ? null : c.id(), PageRequest.ofSize(s + 1));
+        return CursorPageResponse.of(rows, s, ProductReadService::cursorOf,
+                withCount ? productRepository.countByOriginalPricePerBaseUnitBetween(lo, hi) : null);
+    }
+
+    private static KeysetCursor cursorOf(ProductResponse r) {
+        return new KeysetCursor(r.getCreatedAt(), r.getId());
+    }
+
+    /** 기본 10, 상한 100 (초과하면 100으로 제한) */
+    private static int pageSize(Integer size) {
+        return (size == null || size < 1) ? 10 : Math.min(size, 100);
+    }
+}
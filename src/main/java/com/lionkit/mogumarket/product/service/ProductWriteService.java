@@ -2,8 +2,14 @@ package com.lionkit.mogumarket.product.service;
 
 
 import com.lionkit.mogumarket.category.enums.CategoryType;
+import com.lionkit.mogumarket.global.base.pagination.CursorPageResponse;
+import com.lionkit.mogumarket.global.base.pagination.KeysetCursor;
 import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
 import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.global.transaction.TransactionCallbacks;
+import com.lionkit.mogumarket.order.reservation.ReservationEngine;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.service.OutboxService;
 import com.lionkit.mogumarket.product.dto.request.ProductPatchRequest;
 import com.lionkit.mogumarket.product.dto.request.ProductSaveRequest;
 import com.lionkit.mogumarket.product.dto.ProductUpdateDto;
@@ -28,6 +34,9 @@ public class ProductWriteService {
     private final ProductRepository productRepository;
     private final StoreRepository storeRepository;
     private final S3Service s3Service; // S3 서비스 주입
+    private final Optional<ReservationEngine> reservationEngine;
+    private final ProductOverviewCache overviewCache;
+    private final OutboxService outboxService;
 
     // CREATE
     // CREATE (multipart)
@@ -52,7 +61,9 @@ public class ProductWriteService {
                 .category(CategoryType.valueOf(request.getCategory()))
                 .build();
 
-        return productRepository.save(product).getId();
+        Long id = productRepository.save(product).getId();
+        outboxService.append(OutboxEventType.PRODUCT_REINDEX, id, Map.of());
+        return id;
     }
 
     @Transactional
@@ -86,6 +97,27 @@ public class ProductWriteService {
         return products.map(ProductResponse::fromEntity); // from(Product) 정적 메서드 가정
     }
 
+    /**
+     * 상품 목록 커서 버전: id desc keyset, 목록 projection 으로 조회 (withCount=true 일 때만 COUNT)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> listByCursor(String cursor, Integer size, Long marketId, boolean withCount) {
+        int s = (size == null || size < 1) ? 10 : Math.min(size, 100);
+        KeysetCursor c = KeysetCursor.decode(cursor);
+        Long cursorId = c == null ? null : c.id();
+
+        List<ProductResponse> rows;
+        Long total = null;
+        if (marketId != null) {
+            rows = productRepository.findPageByMarketId(marketId, cursorId, PageRequest.ofSize(s + 1));
+            if (withCount) total = productRepository.countByStore_Market_Id(marketId);
+        } else {
+            rows = productRepository.findPage(cursorId, PageRequest.ofSize(s + 1));
+            if (withCount) total = productRepository.count();
+        }
+        return CursorPageResponse.of(rows, s, r -> KeysetCursor.ofId(r.getId()), total);
+    }
+
     // UPDATE: 전체 수정
     @Transactional
     public void updateProduct(Long id, ProductUpdateDto dto, MultipartFile image) {
@@ -94,6 +126,15 @@ public class ProductWriteService {
 
         // 1) DTO로 필드 업데이트
         product.update(dto);
+        overviewCache.evict(id);
+        outboxService.append(OutboxEventType.PRODUCT_REINDEX, id, Map.of());
+
+        // 예약 엔진 사용 시 재고 상한 변경을 커밋 후 카운터에 반영
+        if (dto.getStock() != null) {
+            double stock = product.getStock();
+            reservationEngine.ifPresent(engine ->
+                    TransactionCallbacks.afterCommit(() -> engine.updateProductStock(id, stock)));
+        }
 
         // 2) 이미지 파일이 오면 업로드 후 URL 교체
         if (image != null && !image.isEmpty()) {
@@ -115,6 +156,7 @@ public class ProductWriteService {
                 request.getOriginalPrice(),
                 request.getImageUrl()
         );
+        overviewCache.evict(id);
     }
 
     // DELETE
@@ -123,6 +165,8 @@ public class ProductWriteService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() ->new BusinessException(ExceptionType.PRODUCT_NOT_FOUND));
         productRepository.delete(product);
+        overviewCache.evict(id);
+        outboxService.append(OutboxEventType.PRODUCT_REINDEX, id, Map.of());
     }
 
 
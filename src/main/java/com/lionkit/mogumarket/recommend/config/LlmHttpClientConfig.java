@@ -0,0 +1,54 @@
+package com.lionkit.mogumarket.recommend.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLM(xAI) 호출용 공용 HTTP 클라이언트.
+ * - 커넥션 풀 + keep-alive 로 호출마다 TCP/TLS 핸드셰이크를 하지 않음
+ * - connect / 응답 대기 / 쓰기 타임아웃을 각각 설정 (스트리밍은 XaiGrokClient 에서 청크 간 idle 타임아웃 별도 적용)
+ */
+@Configuration
+public class LlmHttpClientConfig {
+
+    @Bean(name = "llmWebClient")
+    public WebClient llmWebClient(WebClient.Builder builder,
+                                  @Value("${xai.base-url:https://api.x.ai/v1}") String baseUrl,
+                                  @Value("${xai.http.max-connections:50}") int maxConnections,
+                                  @Value("${xai.http.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs,
+                                  @Value("${xai.http.max-idle-ms:30000}") long maxIdleMs,
+                                  @Value("${xai.http.connect-timeout-ms:3000}") int connectTimeoutMs,
+                                  @Value("${xai.http.response-timeout-ms:30000}") long responseTimeoutMs,
+                                  @Value("${xai.http.write-timeout-ms:10000}") long writeTimeoutMs) {
+        ConnectionProvider pool = ConnectionProvider.builder("llm")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .evictInBackground(Duration.ofMillis(maxIdleMs))
+                .metrics(true)
+                .build();
+
+        HttpClient http = HttpClient.create(pool)
+                .keepAlive(true)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .doOnConnected(conn -> conn.addHandlerLast(new WriteTimeoutHandler(writeTimeoutMs, TimeUnit.MILLISECONDS)));
+
+        return builder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.lionkit.mogumarket.recommend.controller;
 
 
+import com.lionkit.mogumarket.recommend.dto.request.ListingReviewBatchRequest;
 import com.lionkit.mogumarket.recommend.dto.request.ListingReviewRequest;
 import com.lionkit.mogumarket.recommend.dto.response.ListingReviewResponse;
 import com.lionkit.mogumarket.recommend.service.RecommendService;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Recommend", description = "AI 가격 추천 API")
 @RequestMapping(value = "/api/recommend", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -29,6 +31,15 @@ public class RecommendController {
         return ResponseEntity.ok(recommendService.reviewListing(req));
     }
 
+    @PostMapping(value = "/listing/review/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "상품 등록값 일괄 리뷰(SSE)",
+            description = "여러 상품 등록값을 한 번에 리뷰합니다. 항목마다 끝나는 순서대로 review 이벤트(index 로 요청 항목 식별)를 보내고, 모두 끝나면 done 이벤트를 보냅니다."
+    )
+    public SseEmitter reviewBatch(@Valid @RequestBody ListingReviewBatchRequest req) {
+        return recommendService.reviewListingBatch(req.getItems());
+    }
+
     @GetMapping("/health")
     public String health() { return "ok"; }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.lionkit.mogumarket.recommend.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ListingReviewBatchRequest {
+
+    @NotEmpty
+    @Size(max = 50)
+    @Schema(description = "리뷰할 상품 등록값 목록(최대 50개). 결과의 index 는 이 목록의 순번")
+    private List<@Valid ListingReviewRequest> items;
+}
@@ -0,0 +1,20 @@
+package com.lionkit.mogumarket.recommend.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ListingReviewBatchItemResponse {
+
+    @Schema(description = "요청 목록에서의 순번(0부터)")
+    private int index;
+
+    @Schema(description = "요청한 상품 ID(없으면 null)")
+    private Long productId;
+
+    @Schema(description = "결과 출처(cache | llm | fallback)")
+    private String source;
+
+    @Schema(description = "리뷰 결과")
+    private ListingReviewResponse review;
+}
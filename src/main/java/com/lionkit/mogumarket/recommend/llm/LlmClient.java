@@ -1,5 +1,16 @@
 package com.lionkit.mogumarket.recommend.llm;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 public interface LlmClient {
     String complete(String prompt);
-}
\ No newline at end of file
+
+    /**
+     * 스트리밍 완성: 생성되는 content 조각을 순서대로 방출합니다.
+     * 스트리밍을 지원하지 않는 구현은 complete 결과를 한 번에 방출합니다.
+     */
+    default Flux<String> stream(String prompt) {
+        return Mono.fromCallable(() -> complete(prompt)).flux();
+    }
+}
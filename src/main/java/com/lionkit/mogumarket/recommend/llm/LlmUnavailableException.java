@@ -0,0 +1,19 @@
+package com.lionkit.mogumarket.recommend.llm;
+
+/**
+ * LLM 호출을 시도하지 않고 즉시 거절 (서킷 오픈 / 동시 호출 한도 초과).
+ * 호출 측은 기다리지 않고 바로 폴백하면 됩니다.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    private final String reason;
+
+    public LlmUnavailableException(String reason) {
+        super("LLM 호출 거절: " + reason);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,150 @@
+package com.lionkit.mogumarket.recommend.llm;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LLM 호출 보호 계층 (실제 클라이언트는 rawLlmClient).
+ * - 서킷 브레이커: 연속 failure-threshold 회 실패하면 open-ms 동안 호출 없이 즉시 거절, 이후 1건만 시험 호출(half-open)
+ * - 벌크헤드: 동시 LLM 호출을 max-concurrent 로 제한, 초과분은 즉시 거절
+ * - 거절은 LlmUnavailableException → 호출 측 폴백
+ * - 메트릭: llm.resilience{event}, llm.circuit.state(0 closed / 1 open / 2 half-open), llm.bulkhead.in_use
+ */
+@Slf4j
+@Primary
+@Component
+public class ResilientLlmClient implements LlmClient {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final LlmClient delegate;
+    private final MeterRegistry registry;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public ResilientLlmClient(@Qualifier("rawLlmClient") LlmClient delegate,
+                              MeterRegistry registry,
+                              @Value("${llm.circuit.failure-threshold:5}") int failureThreshold,
+                              @Value("${llm.circuit.open-ms:30000}") long openMs,
+                              @Value("${llm.bulkhead.max-concurrent:8}") int maxConcurrent) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+
+        Gauge.builder("llm.circuit.state", state, s -> s.get().ordinal()).register(registry);
+        Gauge.builder("llm.bulkhead.in_use", bulkhead, b -> this.maxConcurrent - b.availablePermits()).register(registry);
+    }
+
+    @Override
+    public String complete(String prompt) {
+        acquire();
+        try {
+            String result = delegate.complete(prompt);
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 스트리밍도 같은 한도/서킷을 적용. 호출 측이 필요한 만큼 받고 취소하면 성공으로,
+     * 조각 하나 없이 취소(대기 시간 초과 등)되면 실패로 집계합니다.
+     */
+    @Override
+    public Flux<String> stream(String prompt) {
+        return Flux.defer(() -> {
+            acquire();
+            AtomicBoolean received = new AtomicBoolean();
+            AtomicBoolean released = new AtomicBoolean();
+            return delegate.stream(prompt)
+                    .doOnNext(chunk -> received.set(true))
+                    .doFinally(signal -> {
+                        if (!released.compareAndSet(false, true)) return;
+                        bulkhead.release();
+                        if (signal == SignalType.ON_COMPLETE || (signal == SignalType.CANCEL && received.get())) {
+                            onSuccess();
+                        } else if (signal == SignalType.CANCEL) {
+                            onFailure(null);
+                        }
+                    })
+                    .doOnError(this::onFailure);
+        });
+    }
+
+    State state() {
+        return state.get();
+    }
+
+    private void acquire() {
+        boolean trial = false;
+        State s = state.get();
+        if (s == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos || !state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                reject("circuit_open");
+            }
+            trial = true; // 이 호출이 half-open 시험 호출
+        } else if (s == State.HALF_OPEN) {
+            reject("circuit_open");
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            if (trial) state.set(State.OPEN); // 시험 기회를 다음 호출에 넘김 (openedAt 유지)
+            reject("bulkhead_full");
+        }
+    }
+
+    private void reject(String reason) {
+        event("rejected_" + reason);
+        throw new LlmUnavailableException(reason);
+    }
+
+    private void onSuccess() {
+        event("success");
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("[ResilientLlmClient] circuit closed");
+        }
+    }
+
+    private void onFailure(Throwable error) {
+        event("failure");
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.nanoTime();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                log.warn("[ResilientLlmClient] circuit opened for {}ms after {} consecutive failures. last={}",
+                        TimeUnit.NANOSECONDS.toMillis(openNanos), consecutiveFailures.get(),
+                        error == null ? "cancelled without response" : error.toString());
+            }
+        }
+    }
+
+    private void event(String event) {
+        registry.counter("llm.resilience", "event", event).increment();
+    }
+}
@@ -0,0 +1,63 @@
+package com.lionkit.mogumarket.recommend.llm;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍 content 조각에서 최상위 JSON 객체가 닫히는 시점을 감지합니다.
+ * - 객체 앞뒤/사이의 설명·코드펜스·구분자는 건너뛰고, 문자열 안의 중괄호/이스케이프는 무시
+ * - 객체가 닫히면 바로 반환하므로 뒤따르는 토큰이나 [DONE] 을 기다리지 않음
+ * - 여러 객체를 연달아 출력하는 응답(상품 여러 개를 한 프롬프트로 요청)은 객체마다 방출
+ */
+public final class StreamingJsonObject {
+
+    private final StringBuilder buf = new StringBuilder();
+    private boolean started;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    /** 조각 추가. 이 조각에서 닫힌 최상위 객체들(없으면 빈 목록) */
+    public List<String> feed(String chunk) {
+        List<String> completed = new ArrayList<>(1);
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (!started) {
+                if (c != '{') continue;
+                started = true;
+            }
+            buf.append(c);
+
+            if (inString) {
+                if (escaped) escaped = false;
+                else if (c == '\\') escaped = true;
+                else if (c == '"') inString = false;
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                completed.add(buf.toString());
+                buf.setLength(0);
+                started = false;
+            }
+        }
+        return completed;
+    }
+
+    /** 최상위 JSON 객체를 닫히는 대로 방출 */
+    public static Flux<String> objects(Flux<String> chunks) {
+        return Flux.defer(() -> {
+            StreamingJsonObject acc = new StreamingJsonObject();
+            return chunks.concatMapIterable(acc::feed);
+        });
+    }
+
+    /** 첫 번째 최상위 JSON 객체가 완성되면 방출하고 업스트림(스트림)을 취소. 끝까지 없으면 empty */
+    public static Mono<String> firstObject(Flux<String> chunks) {
+        return objects(chunks).next();
+    }
+}
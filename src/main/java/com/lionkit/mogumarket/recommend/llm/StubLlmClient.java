@@ -0,0 +1,86 @@
+package com.lionkit.mogumarket.recommend.llm;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬/부하 테스트용 LLM stand-in (llm.provider=stub).
+ * 프롬프트의 원가로 정해진 규칙의 JSON 을 만들고, 설정한 지연/실패율을 흉내냅니다. 외부 호출 없음
+ */
+@Component
+@Qualifier("rawLlmClient")
+@ConditionalOnProperty(name = "llm.provider", havingValue = "stub")
+public class StubLlmClient implements LlmClient {
+
+    private static final Pattern COST = Pattern.compile("원가\\(기준단위당\\):\\s*([0-9.]+)");
+    private static final int CHUNK_SIZE = 24;
+
+    @Value("${llm.stub.latency-ms:800}")
+    private long latencyMs;
+
+    @Value("${llm.stub.failure-rate:0}")
+    private double failureRate;
+
+    @Override
+    public String complete(String prompt) {
+        maybeFail();
+        sleep(latencyMs);
+        return answer(prompt);
+    }
+
+    /** 첫 조각까지 latency 의 절반, 나머지를 조각으로 나눠 방출 */
+    @Override
+    public Flux<String> stream(String prompt) {
+        return Flux.defer(() -> {
+            maybeFail();
+            List<String> chunks = chunks(answer(prompt));
+            long gapMs = Math.max(1, latencyMs / 2 / chunks.size());
+            return Flux.fromIterable(chunks)
+                    .delaySequence(Duration.ofMillis(latencyMs / 2))
+                    .delayElements(Duration.ofMillis(gapMs));
+        });
+    }
+
+    private String answer(String prompt) {
+        Matcher m = COST.matcher(prompt);
+        double cost = m.find() ? Double.parseDouble(m.group(1)) : 1000;
+        double price = Math.round(cost * 1.25);
+        return String.format(Locale.ROOT, """
+                {"recommendedPrice": %.0f, "minRecommendedPrice": %.0f, "maxRecommendedPrice": %.0f,
+                 "reasoning": "stub: 원가 대비 25%% 마진",
+                 "suggestions": [{"field": "description", "suggestedValue": "stub 제안", "reason": "stub"}]}
+                """, price, Math.round(price * 0.92) * 1.0, Math.round(price * 1.08) * 1.0);
+    }
+
+    private static List<String> chunks(String s) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < s.length(); i += CHUNK_SIZE) out.add(s.substring(i, Math.min(s.length(), i + CHUNK_SIZE)));
+        return out;
+    }
+
+    private void maybeFail() {
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("stub LLM failure");
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+}
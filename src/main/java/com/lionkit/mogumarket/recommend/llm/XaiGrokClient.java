@@ -1,116 +1,207 @@
 package com.lionkit.mogumarket.recommend.llm;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
+@Qualifier("rawLlmClient")
+@ConditionalOnProperty(name = "llm.provider", havingValue = "xai", matchIfMissing = true)
 public class XaiGrokClient implements LlmClient {
 
+    private static final String SYSTEM_PROMPT = "당신은 시장 상인을 위한 전문 가격 분석가입니다. " +
+            "반드시 아래 JSON 스키마만 출력하세요.";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE =
+            new ParameterizedTypeReference<>() {};
+
     @Value("${xai.api.key:}")
     private String apiKey;
 
     @Value("${xai.model:grok-3}")
     private String model;
 
-    @Value("${xai.base-url:https://api.x.ai/v1}")
-    private String baseUrl;
+    /** complete 전체 대기 상한 */
+    @Value("${xai.http.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    /** 스트리밍 청크 간 최대 간격 */
+    @Value("${xai.http.stream-idle-timeout-ms:15000}")
+    private long streamIdleTimeoutMs;
+
+    /** 요청/응답 본문 로깅 샘플링 비율 (0 이면 본문 로깅 안 함, 에러 응답 본문은 항상 일부 로깅) */
+    @Value("${xai.log.body-sample-rate:0.01}")
+    private double bodySampleRate;
 
+    @Value("${xai.log.max-body-chars:2000}")
+    private int maxBodyChars;
+
+    private final WebClient webClient;
+    private final ServiceMetrics metrics;
     private final ObjectMapper om = new ObjectMapper();
 
-    private RestTemplate buildRestTemplate() {
-        var factory = new HttpComponentsClientHttpRequestFactory();
-        factory.setConnectTimeout((int) Duration.ofSeconds(5).toMillis());
-        factory.setConnectTimeout((int) Duration.ofSeconds(30).toMillis());
-        return new RestTemplate(factory);
+    public XaiGrokClient(@Qualifier("llmWebClient") WebClient webClient, ServiceMetrics metrics) {
+        this.webClient = webClient;
+        this.metrics = metrics;
     }
 
     @Override
     public String complete(String prompt) {
-        if (apiKey == null || apiKey.isBlank()) {
-            throw new IllegalStateException("xAI API 키가 설정되어 있지 않습니다. (xai.api.key)");
+        return metrics.record("llm.complete", () -> call(prompt));
+    }
+
+    private String call(String prompt) {
+        requireApiKey();
+        Map<String, Object> body = body(prompt, false);
+        boolean sampled = sampled();
+        if (sampled) log.info("[XaiGrokClient] request body: {}", abbreviate(toJson(body)));
+
+        try {
+            String res = webClient.post()
+                    .uri("/chat/completions")
+                    .headers(h -> h.setBearerAuth(apiKey))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block(Duration.ofMillis(readTimeoutMs));
+
+            if (sampled) log.info("[XaiGrokClient] response body: {}", abbreviate(res));
+            if (res == null) {
+                throw new RuntimeException("xAI Grok 응답 비정상: 빈 본문");
+            }
+
+            JsonNode content = om.readTree(res).path("choices").path(0).path("message").path("content");
+            if (content.isMissingNode() || content.isNull()) {
+                throw new RuntimeException("xAI Grok 응답에 choices[0].message.content 가 없습니다.");
+            }
+            return content.asText();
+
+        } catch (WebClientResponseException e) {
+            log.error("[XaiGrokClient] HTTP {} error body: {}", e.getStatusCode().value(), abbreviate(e.getResponseBodyAsString()));
+            throw new RuntimeException("xAI Grok 호출 실패: HTTP " + e.getStatusCode().value(), e);
+        } catch (RuntimeException e) {
+            log.warn("[XaiGrokClient] 호출 실패: {}", e.toString());
+            throw e;
+        } catch (Exception e) {
+            log.warn("[XaiGrokClient] 호출 실패: {}", e.toString());
+            throw new RuntimeException("xAI Grok 호출 실패: " + e.getMessage(), e);
         }
+    }
 
-        String url = baseUrl + "/chat/completions";
+    /**
+     * SSE 스트리밍 완성 (stream=true). choices[0].delta.content 조각을 도착하는 대로 방출합니다.
+     * 구독을 취소하면 연결도 끊어 남은 토큰 생성을 기다리지 않습니다.
+     */
+    @Override
+    public Flux<String> stream(String prompt) {
+        return Flux.defer(() -> {
+            requireApiKey();
+            Map<String, Object> body = body(prompt, true);
+            boolean sampled = sampled();
+            if (sampled) log.info("[XaiGrokClient] stream request body: {}", abbreviate(toJson(body)));
+
+            long startedAt = System.nanoTime();
+            AtomicBoolean firstChunk = new AtomicBoolean();
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            StringBuilder sampledBody = sampled ? new StringBuilder() : null;
+
+            return webClient.post()
+                    .uri("/chat/completions")
+                    .headers(h -> h.setBearerAuth(apiKey))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToFlux(SSE)
+                    .timeout(Duration.ofMillis(streamIdleTimeoutMs))
+                    .mapNotNull(ServerSentEvent::data)
+                    .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                    .mapNotNull(this::deltaContent)
+                    .doOnNext(chunk -> {
+                        if (firstChunk.compareAndSet(false, true)) {
+                            metrics.recordNanos("llm.stream.first_chunk", System.nanoTime() - startedAt, null);
+                        }
+                        if (sampledBody != null && sampledBody.length() < maxBodyChars) sampledBody.append(chunk);
+                    })
+                    .doOnError(e -> {
+                        error.set(e);
+                        if (e instanceof WebClientResponseException we) {
+                            log.error("[XaiGrokClient] stream HTTP {} error body: {}",
+                                    we.getStatusCode().value(), abbreviate(we.getResponseBodyAsString()));
+                        } else {
+                            log.warn("[XaiGrokClient] stream 실패: {}", e.toString());
+                        }
+                    })
+                    .doFinally(signal -> {
+                        // 취소(cancel)는 호출자가 필요한 만큼 받고 끊은 정상 종료
+                        metrics.recordNanos("llm.stream", System.nanoTime() - startedAt, error.get());
+                        if (sampledBody != null) log.info("[XaiGrokClient] stream response ({}): {}", signal, abbreviate(sampledBody.toString()));
+                    });
+        });
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(apiKey);
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+    private String deltaContent(String data) {
+        try {
+            JsonNode content = om.readTree(data).path("choices").path(0).path("delta").path("content");
+            return content.isTextual() && !content.asText().isEmpty() ? content.asText() : null;
+        } catch (Exception e) {
+            log.debug("[XaiGrokClient] SSE 청크 파싱 실패: {}", abbreviate(data));
+            return null;
+        }
+    }
 
-        Map<String, Object> body = Map.of(
+    private Map<String, Object> body(String prompt, boolean stream) {
+        return Map.of(
                 "model", model,
                 "temperature", 0.2,
+                "stream", stream,
                 "messages", List.of(
-                        Map.of("role", "system",
-                                "content", "당신은 시장 상인을 위한 전문 가격 분석가입니다. " +
-                                        "반드시 아래 JSON 스키마만 출력하세요."),
+                        Map.of("role", "system", "content", SYSTEM_PROMPT),
                         Map.of("role", "user", "content", prompt)
                 )
         );
+    }
 
-        String reqJson;
-        try {
-            reqJson = om.writerWithDefaultPrettyPrinter().writeValueAsString(body);
-        } catch (JsonProcessingException e) {
-            reqJson = body.toString();
+    private void requireApiKey() {
+        if (apiKey == null || apiKey.isBlank()) {
+            throw new IllegalStateException("xAI API 키가 설정되어 있지 않습니다. (xai.api.key)");
         }
+    }
 
-        log.info("[XaiGrokClient] URL: {}", url);
-        log.info("[XaiGrokClient] Request Body:\n{}", reqJson);
+    private boolean sampled() {
+        return bodySampleRate > 0 && ThreadLocalRandom.current().nextDouble() < bodySampleRate;
+    }
 
+    private String toJson(Object body) {
         try {
-            RestTemplate rest = buildRestTemplate();
-            ResponseEntity<String> res = rest.postForEntity(url, new HttpEntity<>(body, headers), String.class);
-
-            log.info("[XaiGrokClient] Response Status: {}", res.getStatusCodeValue());
-            log.info("[XaiGrokClient] Response Body:\n{}", res.getBody());
-
-            if (!res.getStatusCode().is2xxSuccessful() || res.getBody() == null) {
-                throw new RuntimeException("xAI Grok 응답 비정상: " + res.getStatusCode());
-            }
-
-            // JSON 파싱해서 content 추출
-            Map<?, ?> root = om.readValue(res.getBody(), Map.class);
-            List<?> choices = (List<?>) root.get("choices");
-            if (choices == null || choices.isEmpty()) {
-                throw new RuntimeException("xAI Grok 응답에 choices가 없습니다.");
-            }
-            Object first = choices.get(0);
-            if (!(first instanceof Map)) {
-                throw new RuntimeException("xAI Grok choices[0] 형식 오류");
-            }
-            Map<?, ?> choice0 = (Map<?, ?>) first;
-            Map<?, ?> message = (Map<?, ?>) choice0.get("message");
-            if (message == null) {
-                throw new RuntimeException("xAI Grok message가 없습니다.");
-            }
-            Object content = message.get("content");
-            if (content == null) {
-                throw new RuntimeException("xAI Grok content가 없습니다.");
-            }
-            return content.toString();
-
-        } catch (HttpStatusCodeException e) {
-            // 4xx/5xx 에러 바디까지 로깅
-            log.error("[XaiGrokClient] HTTP {} Error Body:\n{}", e.getStatusCode().value(), e.getResponseBodyAsString());
-            throw new RuntimeException("xAI Grok 호출 실패: HTTP " + e.getRawStatusCode(), e);
+            return om.writeValueAsString(body);
         } catch (Exception e) {
-            log.error("[XaiGrokClient] 호출 중 예외", e);
-            throw new RuntimeException("xAI Grok 호출 실패: " + e.getMessage(), e);
+            return String.valueOf(body);
         }
     }
-}
\ No newline at end of file
+
+    private String abbreviate(String s) {
+        if (s == null) return "null";
+        return s.length() <= maxBodyChars ? s : s.substring(0, maxBodyChars) + "...(" + s.length() + " chars)";
+    }
+}
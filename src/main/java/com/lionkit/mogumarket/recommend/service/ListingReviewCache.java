@@ -0,0 +1,191 @@
+package com.lionkit.mogumarket.recommend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
+import com.lionkit.mogumarket.recommend.dto.request.ListingReviewRequest;
+import com.lionkit.mogumarket.recommend.dto.response.ListingReviewResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * LLM 상품 등록 리뷰 결과 캐시.
+ * - 키: 정규화한 프롬프트 입력(상품명/설명/단위/가격 구간/재고 구간/할인율/단계 수/통화)의 SHA-256
+ * - 로컬 Caffeine(L1, 크기 제한) → Redis(L2, 노드 간 공유) → LLM
+ * - 같은 키의 동시 요청은 노드 안에서 한 번만 LLM 을 호출하고 나머지는 그 결과를 기다림 (single-flight)
+ * - 메트릭: llm.review.cache{result=local_hit|remote_hit|coalesced|miss}
+ */
+@Slf4j
+@Component
+public class ListingReviewCache {
+
+    /** 프롬프트/스키마가 바뀌면 올려서 기존 캐시를 버림 */
+    private static final String PROMPT_VERSION = "v1";
+    private static final String KEY_PREFIX = "llm:review:";
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ServiceMetrics metrics;
+    private final ObjectMapper om = new ObjectMapper();
+    private final Cache<String, ListingReviewResponse> local;
+    private final Map<String, CompletableFuture<ListingReviewResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${recommend.cache.redis-ttl-ms:21600000}")
+    private long redisTtlMs;
+
+    /** 가격 구간 폭(비율). 0.05 면 약 5% 이내 가격은 같은 구간 */
+    @Value("${recommend.cache.price-bucket-ratio:0.05}")
+    private double priceBucketRatio;
+
+    @Value("${recommend.cache.stock-bucket-ratio:0.2}")
+    private double stockBucketRatio;
+
+    public ListingReviewCache(ObjectProvider<StringRedisTemplate> redisTemplate,
+                              ServiceMetrics metrics,
+                              @Value("${recommend.cache.local-ttl-ms:600000}") long localTtlMs,
+                              @Value("${recommend.cache.max-entries:5000}") long maxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.metrics = metrics;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(localTtlMs))
+                .build();
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader(LLM 호출)로 채움.
+     * loader 가 예외를 던지면 캐시하지 않고 기다리던 요청에도 같은 예외를 전달합니다.
+     */
+    public ListingReviewResponse getOrLoad(String key, Supplier<ListingReviewResponse> loader) {
+        ListingReviewResponse cached = getIfPresent(key);
+        return cached != null ? cached : load(key, loader);
+    }
+
+    /** L1 → L2 조회만 (없으면 null) */
+    public ListingReviewResponse getIfPresent(String key) {
+        ListingReviewResponse cached = local.getIfPresent(key);
+        if (cached != null) {
+            hit("local_hit");
+            return cached;
+        }
+
+        ListingReviewResponse remote = readRemote(key);
+        if (remote != null) {
+            local.put(key, remote);
+            hit("remote_hit");
+        }
+        return remote;
+    }
+
+    /** 캐시를 보지 않고 single-flight 로 loader 실행 후 저장 (getIfPresent 미스 이후 호출) */
+    public ListingReviewResponse load(String key, Supplier<ListingReviewResponse> loader) {
+        CompletableFuture<ListingReviewResponse> mine = new CompletableFuture<>();
+        CompletableFuture<ListingReviewResponse> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            hit("coalesced");
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+
+        hit("miss");
+        try {
+            ListingReviewResponse loaded = loader.get();
+            local.put(key, loaded);
+            writeRemote(key, loaded);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** single-flight 밖에서 얻은 LLM 결과 저장 (일괄 리뷰) */
+    public void put(String key, ListingReviewResponse value) {
+        local.put(key, value);
+        writeRemote(key, value);
+    }
+
+    /** 정규화된 프롬프트 입력의 해시 키 */
+    public String keyOf(ListingReviewRequest r, String currency) {
+        String canonical = String.join("\u001F",
+                PROMPT_VERSION,
+                normalize(r.getName()),
+                normalize(r.getDescription()),
+                r.getUnit() == null ? "" : r.getUnit().name(),
+                String.valueOf(bucket(r.getOriginalPricePerBaseUnit(), priceBucketRatio)),
+                String.valueOf(bucket(r.getStock(), stockBucketRatio)),
+                r.getMaxDiscountPercent() == null ? "" : String.valueOf(Math.round(r.getMaxDiscountPercent())),
+                r.getStageCount() == null ? "" : String.valueOf(r.getStageCount()),
+                currency.toUpperCase(Locale.ROOT));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 유니코드 정규화(NFKC) + 소문자 + 공백 정리 */
+    static String normalize(String s) {
+        if (s == null) return "";
+        return Normalizer.normalize(s, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    /** 로그 스케일 구간: 값이 ratio 비율 이내로 다르면 대체로 같은 구간 (0 이하는 0) */
+    static long bucket(double value, double ratio) {
+        if (value <= 0 || ratio <= 0) return 0;
+        return Math.round(Math.log(value) / Math.log1p(ratio));
+    }
+
+    private void hit(String result) {
+        metrics.count("llm.review.cache", 1, "result", result);
+    }
+
+    private ListingReviewResponse readRemote(String key) {
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis == null) return null;
+        try {
+            String json = redis.opsForValue().get(KEY_PREFIX + key);
+            return json == null ? null : om.readValue(json, ListingReviewResponse.class);
+        } catch (Exception e) {
+            log.debug("[ListingReviewCache] remote read failed. key={}, reason={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, ListingReviewResponse value) {
+        StringRedisTemplate redis = redisTemplate.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForValue().set(KEY_PREFIX + key, om.writeValueAsString(value), Duration.ofMillis(redisTtlMs));
+        } catch (Exception e) {
+            log.debug("[ListingReviewCache] remote write failed. key={}, reason={}", key, e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.lionkit.mogumarket.recommend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
 import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
 import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
@@ -9,15 +11,41 @@ import com.lionkit.mogumarket.product.entity.Product;
 import com.lionkit.mogumarket.product.repository.ProductRepository;
 import com.lionkit.mogumarket.recommend.dto.request.ListingReviewRequest;
 
+import com.lionkit.mogumarket.recommend.dto.response.ListingReviewBatchItemResponse;
 import com.lionkit.mogumarket.recommend.dto.response.ListingReviewResponse;
 import com.lionkit.mogumarket.recommend.llm.LlmClient;
+import com.lionkit.mogumarket.recommend.llm.LlmUnavailableException;
+import com.lionkit.mogumarket.recommend.llm.StreamingJsonObject;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,28 +55,292 @@ public class RecommendService {
     private final ProductRepository productRepository;
     private final GroupBuyRepository groupBuyRepository;
     private final GroupBuyStageRepository stageRepository;
+    private final ListingReviewCache reviewCache;
+    private final ServiceMetrics metrics;
     private final ObjectMapper om = new ObjectMapper();
+    /** LLM 호출 전용 (동시 호출 수는 ResilientLlmClient 벌크헤드가 제한) */
+    private final ExecutorService llmExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    /** 스트리밍 응답 후처리(파싱/캐시 저장/SSE 전송)를 Netty 이벤트 루프 밖에서 실행 */
+    private final Scheduler llmScheduler = Schedulers.fromExecutorService(llmExecutor);
 
-    @Transactional(readOnly = true)
+    /** LLM 스트리밍 응답 전체 대기 상한 (budget 초과 후에도 백그라운드에서 이 시간까지 진행) */
+    @Value("${recommend.llm.timeout-ms:30000}")
+    private long llmTimeoutMs;
+
+    /** 요청 응답 latency budget: 넘으면 폴백을 먼저 반환하고 LLM 결과는 다음 요청을 위해 캐시 */
+    @Value("${recommend.llm.budget-ms:3000}")
+    private long llmBudgetMs;
+
+    /** 일괄 리뷰: 한 프롬프트에 묶을 상품 수 (1 이면 상품마다 단건 프롬프트) */
+    @Value("${recommend.batch.pack-size:5}")
+    private int batchPackSize;
+
+    /** 일괄 리뷰: 동시에 진행할 묶음 호출 수 (ResilientLlmClient 벌크헤드보다 작게) */
+    @Value("${recommend.batch.concurrency:4}")
+    private int batchConcurrency;
+
+    @Value("${recommend.batch.sse-timeout-ms:120000}")
+    private long batchSseTimeoutMs;
+
+    @PreDestroy
+    void shutdown() {
+        llmExecutor.shutdownNow();
+    }
+
+    /**
+     * 상품 등록값 리뷰. LLM 응답은 스트리밍으로 받아 JSON 객체가 닫히는 즉시 파싱합니다.
+     * (LLM 대기 동안 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행, 상품 보정 조회만 자체 트랜잭션)
+     */
     public ListingReviewResponse reviewListing(ListingReviewRequest r) {
-        final String currency = (r.getCurrency() == null || r.getCurrency().isBlank()) ? "KRW" : r.getCurrency();
+        final String currency = currencyOf(r);
 
         // productId가 오면 DB 값으로 일부 보정(누락 필드 채우기)
         if (r.getProductId() != null) {
-            productRepository.findWithStoreAndMarketById(r.getProductId()).ifPresent(p -> {
-                if (r.getName() == null || r.getName().isBlank()) r.setName(p.getName());
-                if (r.getDescription() == null || r.getDescription().isBlank()) r.setDescription(p.getDescription());
-                if (r.getUnit() == null) r.setUnit(p.getUnit());
-                if (r.getOriginalPricePerBaseUnit() <= 0) r.setOriginalPricePerBaseUnit(p.getOriginalPricePerBaseUnit());
-                if (r.getStock() <= 0) r.setStock(p.getStock());
-            });
+            productRepository.findWithStoreAndMarketById(r.getProductId()).ifPresent(p -> backfill(r, p));
         }
 
         // LLM 프롬프트
         String prompt = buildListingReviewPrompt(r, currency);
 
+        // 같은 입력(정규화/구간화 기준)은 캐시된 LLM 결과 재사용, 폴백 결과는 캐시하지 않음
+        String key = reviewCache.keyOf(r, currency);
+        ListingReviewResponse cached = reviewCache.getIfPresent(key);
+        if (cached != null) return cached;
+
+        // LLM 호출은 별도 스레드에서 끝까지 진행해 캐시에 저장하고, 응답은 budget 까지만 기다린 뒤 폴백
+        CompletableFuture<ListingReviewResponse> llm = CompletableFuture.supplyAsync(
+                () -> reviewCache.load(key, () -> llmReview(prompt, currency)), llmExecutor);
+        try {
+            return llm.get(llmBudgetMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            fallbackCount("budget_exceeded");
+        } catch (ExecutionException e) {
+            fallbackCount(e.getCause() instanceof LlmUnavailableException u ? u.getReason() : "error");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fallbackCount("interrupted");
+        }
+        return fallback(r, currency);
+    }
+
+    /**
+     * 상품 등록값 일괄 리뷰 (SSE). 항목마다 끝나는 대로 review 이벤트를, 모두 끝나면 done 이벤트를 보냅니다.
+     * - productId 로 참조한 상품은 한 번의 IN 조회로 보정
+     * - 캐시 적중은 바로 전송하고, 같은 입력(캐시 키)은 한 번만 LLM 에 요청
+     * - 나머지는 pack-size 개씩 한 프롬프트로 묶어 concurrency 개까지 동시에 호출, 상품별 JSON 객체가 닫히는 즉시 전송
+     * - 호출 실패/응답 누락 항목은 폴백
+     */
+    public SseEmitter reviewListingBatch(List<ListingReviewRequest> items) {
+        SseEmitter emitter = new SseEmitter(batchSseTimeoutMs);
+        Disposable.Swap subscription = Disposables.swap();
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+
+        backfillAll(items);
+
+        List<ListingReviewBatchItemResponse> hits = new ArrayList<>();
+        Map<String, PackEntry> misses = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            ListingReviewRequest r = items.get(i);
+            String currency = currencyOf(r);
+            String key = reviewCache.keyOf(r, currency);
+            ListingReviewResponse cached = reviewCache.getIfPresent(key);
+            if (cached != null) {
+                hits.add(batchItem(items, i, "cache", cached));
+            } else {
+                misses.computeIfAbsent(key, k -> new PackEntry(k, r, currency, new ArrayList<>())).indexes().add(i);
+            }
+        }
+
+        List<PackEntry> entries = new ArrayList<>(misses.values());
+        List<List<PackEntry>> packs = new ArrayList<>();
+        int packSize = Math.max(1, batchPackSize);
+        for (int from = 0; from < entries.size(); from += packSize) {
+            packs.add(entries.subList(from, Math.min(from + packSize, entries.size())));
+        }
+
+        BatchSink sink = new BatchSink(emitter, subscription);
+        subscription.update(Flux.fromIterable(hits)
+                .concatWith(Flux.fromIterable(packs)
+                        .flatMap(pack -> reviewPack(items, pack), Math.max(1, batchConcurrency)))
+                .subscribe(sink::review, emitter::completeWithError, sink::done));
+        return emitter;
+    }
+
+    /** 같은 캐시 키로 묶인 요청 항목들 (indexes: 요청 목록 순번) */
+    private record PackEntry(String key, ListingReviewRequest request, String currency, List<Integer> indexes) {}
+
+    /** 묶음 1회 호출. 응답 스트림에서 상품별 객체가 닫히는 대로 결과를 내고, 끝까지 답이 없는 항목은 폴백 */
+    private Flux<ListingReviewBatchItemResponse> reviewPack(List<ListingReviewRequest> items, List<PackEntry> pack) {
+        Set<Integer> answered = ConcurrentHashMap.newKeySet();
+        AtomicReference<String> reason = new AtomicReference<>("incomplete");
+        String prompt = pack.size() == 1
+                ? buildListingReviewPrompt(pack.get(0).request(), pack.get(0).currency())
+                : buildBatchReviewPrompt(pack);
+
+        return StreamingJsonObject.objects(llmClient.stream(prompt))
+                .take(pack.size())
+                .timeout(Duration.ofMillis(llmTimeoutMs))
+                .publishOn(llmScheduler)
+                .concatMapIterable(json -> packResult(items, pack, json, answered))
+                .onErrorResume(e -> {
+                    reason.set(e instanceof LlmUnavailableException u ? u.getReason()
+                            : e instanceof TimeoutException ? "timeout" : "error");
+                    return Flux.empty();
+                })
+                .concatWith(Flux.defer(() -> Flux.fromIterable(packFallbacks(items, pack, answered, reason.get()))));
+    }
+
+    /** 묶음 응답의 객체 하나 → 결과. index 가 없거나 잘못됐거나 중복이면 무시(나중에 폴백) */
+    private List<ListingReviewBatchItemResponse> packResult(List<ListingReviewRequest> items, List<PackEntry> pack,
+                                                            String json, Set<Integer> answered) {
+        try {
+            JsonNode root = om.readTree(json);
+            int pos = root.path("index").asInt(pack.size() == 1 ? 0 : -1);
+            if (pos < 0 || pos >= pack.size() || answered.contains(pos)) return List.of();
+
+            PackEntry entry = pack.get(pos);
+            ListingReviewResponse review = toReview(root, entry.currency());
+            answered.add(pos);
+            reviewCache.put(entry.key(), review);
+            return batchItems(items, entry, "llm", review);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private List<ListingReviewBatchItemResponse> packFallbacks(List<ListingReviewRequest> items, List<PackEntry> pack,
+                                                               Set<Integer> answered, String reason) {
+        List<ListingReviewBatchItemResponse> out = new ArrayList<>();
+        for (int pos = 0; pos < pack.size(); pos++) {
+            if (answered.contains(pos)) continue;
+            PackEntry entry = pack.get(pos);
+            fallbackCount(reason);
+            out.addAll(batchItems(items, entry, "fallback", fallback(entry.request(), entry.currency())));
+        }
+        return out;
+    }
+
+    private List<ListingReviewBatchItemResponse> batchItems(List<ListingReviewRequest> items, PackEntry entry,
+                                                            String source, ListingReviewResponse review) {
+        return entry.indexes().stream().map(i -> batchItem(items, i, source, review)).toList();
+    }
+
+    private ListingReviewBatchItemResponse batchItem(List<ListingReviewRequest> items, int index,
+                                                     String source, ListingReviewResponse review) {
+        return ListingReviewBatchItemResponse.builder()
+                .index(index)
+                .productId(items.get(index).getProductId())
+                .source(source)
+                .review(review)
+                .build();
+    }
+
+    /** SSE 전송 + 출처별 집계. onNext 는 Reactor 가 직렬화하므로 별도 동기화 없음 */
+    private final class BatchSink {
+        private final SseEmitter emitter;
+        private final Disposable subscription;
+        private final Map<String, Integer> counts = new LinkedHashMap<>();
+        private int total;
+
+        BatchSink(SseEmitter emitter, Disposable subscription) {
+            this.emitter = emitter;
+            this.subscription = subscription;
+        }
+
+        void review(ListingReviewBatchItemResponse item) {
+            total++;
+            counts.merge(item.getSource(), 1, Integer::sum);
+            metrics.count("llm.review.batch", 1, "source", item.getSource());
+            send("review", item);
+        }
+
+        void done() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("total", total);
+            summary.putAll(counts);
+            send("done", summary);
+            emitter.complete();
+        }
+
+        private void send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                subscription.dispose(); // 클라이언트 이탈: 남은 LLM 호출 취소
+            }
+        }
+    }
+
+    /** productId 로 참조한 상품을 한 번에 조회해 누락 필드 보정 */
+    private void backfillAll(List<ListingReviewRequest> items) {
+        Set<Long> ids = items.stream()
+                .map(ListingReviewRequest::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) return;
+
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (ListingReviewRequest r : items) {
+            Product p = r.getProductId() == null ? null : products.get(r.getProductId());
+            if (p != null) backfill(r, p);
+        }
+    }
+
+    private void backfill(ListingReviewRequest r, Product p) {
+        if (r.getName() == null || r.getName().isBlank()) r.setName(p.getName());
+        if (r.getDescription() == null || r.getDescription().isBlank()) r.setDescription(p.getDescription());
+        if (r.getUnit() == null) r.setUnit(p.getUnit());
+        if (r.getOriginalPricePerBaseUnit() <= 0) r.setOriginalPricePerBaseUnit(p.getOriginalPricePerBaseUnit());
+        if (r.getStock() <= 0) r.setStock(p.getStock());
+    }
+
+    private String currencyOf(ListingReviewRequest r) {
+        return (r.getCurrency() == null || r.getCurrency().isBlank()) ? "KRW" : r.getCurrency();
+    }
+
+    private void fallbackCount(String reason) {
+        metrics.count("llm.review.fallback", 1, "reason", reason);
+    }
+
+    /** LLM 실패/거절/예산 초과 폴백: 원가+고정마진 + 기본 제안 */
+    private ListingReviewResponse fallback(ListingReviewRequest r, String currency) {
+        double cost = r.getOriginalPricePerBaseUnit();
+        double targetMargin = 0.25;
+        double candidate = Math.max(1d, cost * (1 + targetMargin));
+
+        List<ListingReviewResponse.FieldSuggestion> fallback = List.of(
+                ListingReviewResponse.FieldSuggestion.builder()
+                        .field("name")
+                        .suggestedValue(r.getName())
+                        .reason("핵심 키워드(원산지/중량)를 앞쪽에 배치하면 검색/가독성이 좋아요.")
+                        .build(),
+                ListingReviewResponse.FieldSuggestion.builder()
+                        .field("description")
+                        .suggestedValue(r.getDescription())
+                        .reason("첫 문단에 효익 1줄 요약, 두 번째 줄에 보관/신선도 팁을 넣어보세요.")
+                        .build()
+        );
+
+        return ListingReviewResponse.builder()
+                .recommendedPrice(round(candidate))
+                .minRecommendedPrice(round(candidate * 0.92))
+                .maxRecommendedPrice(round(candidate * 1.08))
+                .reasoning("LLM 실패 폴백: 원가+고정마진 기준\n필드 제안은 기본 가이드 제공")
+                .currency(currency)
+                .fromLlm(false)
+                .suggestions(fallback)
+                .build();
+    }
+
+    /** LLM 스트리밍 호출 + 응답 JSON 파싱. 실패하면 예외 (호출 측에서 폴백) */
+    private ListingReviewResponse llmReview(String prompt, String currency) {
         try {
-            String raw = llmClient.complete(prompt);
+            String raw = StreamingJsonObject.firstObject(llmClient.stream(prompt))
+                    .block(Duration.ofMillis(llmTimeoutMs));
+            if (raw == null) throw new IllegalStateException("LLM 응답에 JSON 객체가 없습니다.");
 
             // 기대 JSON 스키마
             // {
@@ -62,69 +354,44 @@ public class RecommendService {
             //   ]
             // }
 
-            JsonNode root = om.readTree(raw);
-
-            double price = root.path("recommendedPrice").asDouble();
-            double min   = root.path("minRecommendedPrice").asDouble(price);
-            double max   = root.path("maxRecommendedPrice").asDouble(price);
-            String reasoning = trim2Lines(root.path("reasoning").asText(""));
-
-            List<ListingReviewResponse.FieldSuggestion> suggestions = new ArrayList<>();
-            if (root.has("suggestions") && root.get("suggestions").isArray()) {
-                for (JsonNode s : root.get("suggestions")) {
-                    suggestions.add(
-                            ListingReviewResponse.FieldSuggestion.builder()
-                                    .field(s.path("field").asText(""))
-                                    .suggestedValue(s.path("suggestedValue").asText(""))
-                                    .reason(trim2Lines(s.path("reason").asText("")))
-                                    .build()
-                    );
-                }
-            }
-
-            if (Double.isNaN(price) || price <= 0) throw new IllegalArgumentException("Invalid LLM price");
-
-            return ListingReviewResponse.builder()
-                    .recommendedPrice(round(price))
-                    .minRecommendedPrice(round(min))
-                    .maxRecommendedPrice(round(max))
-                    .reasoning(reasoning)
-                    .currency(currency)
-                    .fromLlm(true)
-                    .suggestions(suggestions)
-                    .build();
-
-        } catch (Exception e) {
-            // 폴백: 기존 로직 간략화 + 기본 제안 몇 개 생성
-            double cost = r.getOriginalPricePerBaseUnit();
-            double targetMargin = 0.25;
-            double candidate = Math.max(1d, cost * (1 + targetMargin));
-
-            List<ListingReviewResponse.FieldSuggestion> fallback = List.of(
-                    ListingReviewResponse.FieldSuggestion.builder()
-                            .field("name")
-                            .suggestedValue(r.getName())
-                            .reason("핵심 키워드(원산지/중량)를 앞쪽에 배치하면 검색/가독성이 좋아요.")
-                            .build(),
-                    ListingReviewResponse.FieldSuggestion.builder()
-                            .field("description")
-                            .suggestedValue(r.getDescription())
-                            .reason("첫 문단에 효익 1줄 요약, 두 번째 줄에 보관/신선도 팁을 넣어보세요.")
-                            .build()
-            );
-
-            return ListingReviewResponse.builder()
-                    .recommendedPrice(round(candidate))
-                    .minRecommendedPrice(round(candidate * 0.92))
-                    .maxRecommendedPrice(round(candidate * 1.08))
-                    .reasoning("LLM 실패 폴백: 원가+고정마진 기준\n필드 제안은 기본 가이드 제공")
-                    .currency(currency)
-                    .fromLlm(false)
-                    .suggestions(fallback)
-                    .build();
+            return toReview(om.readTree(raw), currency);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("LLM 응답 JSON 파싱 실패", e);
         }
     }
 
+    /** 응답 JSON 객체 → 결과. 가격이 유효하지 않으면 IllegalArgumentException */
+    private ListingReviewResponse toReview(JsonNode root, String currency) {
+        double price = root.path("recommendedPrice").asDouble();
+        double min   = root.path("minRecommendedPrice").asDouble(price);
+        double max   = root.path("maxRecommendedPrice").asDouble(price);
+        String reasoning = trim2Lines(root.path("reasoning").asText(""));
+
+        List<ListingReviewResponse.FieldSuggestion> suggestions = new ArrayList<>();
+        if (root.has("suggestions") && root.get("suggestions").isArray()) {
+            for (JsonNode s : root.get("suggestions")) {
+                suggestions.add(
+                        ListingReviewResponse.FieldSuggestion.builder()
+                                .field(s.path("field").asText(""))
+                                .suggestedValue(s.path("suggestedValue").asText(""))
+                                .reason(trim2Lines(s.path("reason").asText("")))
+                                .build()
+                );
+            }
+        }
+
+        if (Double.isNaN(price) || price <= 0) throw new IllegalArgumentException("Invalid LLM price");
+
+        return ListingReviewResponse.builder()
+                .recommendedPrice(round(price))
+                .minRecommendedPrice(round(min))
+                .maxRecommendedPrice(round(max))
+                .reasoning(reasoning)
+                .currency(currency)
+                .fromLlm(true)
+                .suggestions(suggestions)
+                .build();
+    }
 
     private String buildListingReviewPrompt(ListingReviewRequest r, String currency) {
         return """
@@ -175,6 +442,67 @@ public class RecommendService {
         );
     }
 
+    /** 여러 상품을 한 프롬프트로: 상품마다 index 를 붙인 JSON 객체를 연달아 출력하게 해 스트리밍 중 객체 단위로 파싱 */
+    private String buildBatchReviewPrompt(List<PackEntry> pack) {
+        StringBuilder inputs = new StringBuilder();
+        for (int pos = 0; pos < pack.size(); pos++) {
+            ListingReviewRequest r = pack.get(pos).request();
+            inputs.append("""
+                [index %d]
+                - 상품명: %s
+                - 설명: %s
+                - 단위: %s
+                - 정가/원가(기준단위당): %.4f
+                - 재고(기준단위): %.2f
+                - 최대 할인율(%%): %s
+                - 단계 수: %s
+                - 통화: %s
+                """.formatted(
+                    pos,
+                    ns(r.getName()),
+                    ns(r.getDescription()),
+                    r.getUnit() == null ? "UNKNOWN" : r.getUnit().name(),
+                    r.getOriginalPricePerBaseUnit(),
+                    r.getStock(),
+                    r.getMaxDiscountPercent() == null ? "N/A" : r.getMaxDiscountPercent().toString(),
+                    r.getStageCount() == null ? "N/A" : r.getStageCount().toString(),
+                    pack.get(pos).currency()
+            ));
+        }
+
+        return """
+        당신은 전통시장 ‘상품 등록’ 컨설턴트이자 가격 분석가입니다.
+        아래 %d개 상품 각각에 대해 **가격 추천**과 **필드별 수정 제안**을 생성하세요.
+        상품마다 **아래 JSON 스키마의 객체를 하나씩** index 순서대로 출력하고, 객체 사이는 줄바꿈으로만 구분하세요.
+        배열로 감싸거나 JSON 외 텍스트를 넣는 것은 금지합니다.
+        각 reason은 최대 2줄을 넘기지 마세요.
+
+        상품별 출력 JSON 스키마:
+        {
+          "index": number,
+          "recommendedPrice": number,
+          "minRecommendedPrice": number,
+          "maxRecommendedPrice": number,
+          "reasoning": string,
+          "suggestions": [
+            {"field":"description","suggestedValue":string},
+            {"field":"originalPricePerBaseUnit","suggestedValue":string},
+            {"field":"stock","suggestedValue":string},
+            {"field":"maxDiscountPercent","suggestedValue":string},
+            {"field":"stageCount","suggestedValue":string}
+          ]
+        }
+
+        입력 데이터:
+        %s
+        규칙:
+        1) 가격은 원가, 재고, 할인정책(최대할인/단계수)을 고려해 min~max와 대표가를 산출하세요.
+        2) suggestions의 suggestedValue는 사용자가 그대로 복붙해도 되는 간결한 값으로.
+        3) 모든 금액은 각 상품의 통화 기준.
+        4) index 는 입력 데이터의 index 를 그대로 사용하세요.
+        """.formatted(pack.size(), inputs);
+    }
+
     private String trim2Lines(String s) {
         if (s == null) return "";
         String[] lines = s.split("\\R");
@@ -0,0 +1,37 @@
+package com.lionkit.mogumarket.search.handler;
+
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.handler.OutboxEventHandler;
+import com.lionkit.mogumarket.product.repository.ProductRepository;
+import com.lionkit.mogumarket.search.service.SearchIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 변경 → 검색 색인 반영 (디스패처 스레드에서 실행, 정기 동기화를 기다리지 않음)
+ * - 처리 시점의 DB 상태를 그대로 색인하므로 재시도/중복 전달에도 멱등
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductIndexEventHandler implements OutboxEventHandler {
+
+    private final ProductRepository productRepository;
+    private final SearchIndexService searchIndexService;
+
+    @Override
+    public Set<OutboxEventType> supports() {
+        return Set.of(OutboxEventType.PRODUCT_REINDEX);
+    }
+
+    @Override
+    public void handle(OutboxEventType type, Long productId, Map<String, String> payload) {
+        if (productRepository.existsById(productId)) {
+            searchIndexService.indexProduct(productId);
+        } else {
+            searchIndexService.deleteProductDoc(productId);
+        }
+    }
+}
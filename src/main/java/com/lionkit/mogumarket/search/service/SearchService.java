@@ -1,5 +1,6 @@
 package com.lionkit.mogumarket.search.service;
 
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
 import com.lionkit.mogumarket.search.document.ProductDocument;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
@@ -18,8 +19,13 @@ public class SearchService {
 
     private final ElasticsearchOperations elasticsearchOperations;
     private final RedisSearchRankService redisSearchRankService;
+    private final ServiceMetrics metrics;
 
     public List<ProductDocument> search(String keyword, Long marketId) {
+        return metrics.record("search.query", () -> doSearch(keyword, marketId));
+    }
+
+    private List<ProductDocument> doSearch(String keyword, Long marketId) {
         // 기본 텍스트 조건 (name OR description)
         Criteria text = new Criteria("name").matches(keyword)
                 .or(new Criteria("description").matches(keyword));
@@ -38,6 +44,7 @@ public class SearchService {
             redisSearchRankService.increaseKeywordScore(keyword);
         }
 
+        metrics.count("search.results", 1, "empty", String.valueOf(hits.isEmpty()));
         return hits.stream().map(SearchHit::getContent).toList();
     }
 
@@ -63,6 +63,10 @@ public class SecurityConfig {
                                "/api/auth/me"
                        ).permitAll()
 
+                       // 진단/운영 엔드포인트(스레드명, 핫 상품 ID, 락 보유자, 메트릭): 관리자만. 헬스체크만 공개
+                       .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                       .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
+
                        // FCM: 공개는 vapid-key만, 나머지는 인증 필요
                        .requestMatchers(HttpMethod.GET, "/api/fcm/web/vapid-key").permitAll()
                        .requestMatchers("/api/fcm/**").authenticated()
@@ -2,6 +2,7 @@ package com.lionkit.mogumarket.store.controller;
 
 
 
+import com.lionkit.mogumarket.global.base.pagination.CursorPageResponse;
 import com.lionkit.mogumarket.product.dto.response.ProductResponse;
 import com.lionkit.mogumarket.store.dto.request.StoreSaveRequest;
 import com.lionkit.mogumarket.store.dto.response.StoreResponse;
@@ -69,4 +70,24 @@ public class StoreController {
     ) {
         return ResponseEntity.ok(storeService.getProductsByStoreId(id, page, size));
     }
+
+    @GetMapping("/products/{id}/cursor")
+    @Operation(
+            summary = "스토어의 상품 목록 조회(커서)",
+            description = "스토어 ID로 상품 목록을 id 내림차순 커서 방식으로 반환합니다."
+    )
+    @Parameters({
+            @Parameter(name = "id", description = "스토어 ID", example = "1", required = true),
+            @Parameter(name = "cursor", description = "이전 응답의 nextCursor (첫 페이지는 생략)"),
+            @Parameter(name = "size", description = "페이지 크기", example = "10"),
+            @Parameter(name = "withCount", description = "전체 건수 포함 여부 (COUNT 쿼리 추가)", example = "false")
+    })
+    public ResponseEntity<CursorPageResponse<ProductResponse>> getProductsByStoreIdCursor(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "false") boolean withCount
+    ) {
+        return ResponseEntity.ok(storeService.getProductsByStoreIdCursor(id, cursor, size, withCount));
+    }
 }
@@ -2,6 +2,8 @@ package com.lionkit.mogumarket.store.service;
 
 
 
+import com.lionkit.mogumarket.global.base.pagination.CursorPageResponse;
+import com.lionkit.mogumarket.global.base.pagination.KeysetCursor;
 import com.lionkit.mogumarket.market.entity.Market;
 import com.lionkit.mogumarket.market.repository.MarketRepository;
 import com.lionkit.mogumarket.product.dto.response.ProductResponse;
@@ -18,6 +20,8 @@ import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class StoreService {
@@ -107,4 +111,19 @@ public class StoreService {
 
         return products.map(ProductResponse::fromEntity); // 이미 ProductResponse.from(Product) 있을 것으로 가정
     }
-}
\ No newline at end of file
+
+    /** 스토어 상품 목록 커서 버전: id desc keyset, 목록 projection 으로 조회 (withCount=true 일 때만 COUNT) */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> getProductsByStoreIdCursor(Long id, String cursor, Integer size, boolean withCount) {
+        int s = (size == null || size < 1) ? 10 : Math.min(size, 100);
+        KeysetCursor c = KeysetCursor.decode(cursor);
+
+        if (!storeRepository.existsById(id)) {
+            throw new IllegalArgumentException("스토어를 찾을 수 없습니다. id=" + id);
+        }
+
+        List<ProductResponse> rows = productRepository.findPageByStoreId(id, c == null ? null : c.id(), PageRequest.ofSize(s + 1));
+        return CursorPageResponse.of(rows, s, r -> KeysetCursor.ofId(r.getId()),
+                withCount ? productRepository.countByStoreId(id) : null);
+    }
+}
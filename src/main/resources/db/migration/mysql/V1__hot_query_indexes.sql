@@ -0,0 +1,56 @@
+-- 조회 경로별 인덱스 (엔티티 @Table(indexes) 와 동일한 이름/컬럼 유지)
+-- 스키마는 Hibernate 가 관리해 왔으므로 모든 생성은 information_schema 로 가드합니다.
+--  - 테이블이 아직 없으면 건너뜀 (신규 DB 는 엔티티 정의로 인덱스까지 생성)
+--  - 같은 이름, 또는 같은 컬럼으로 시작하는 인덱스(FK/unique 자동 인덱스 포함)가 있으면 건너뜀
+--
+-- 별도 인덱스를 만들지 않는 조회
+--  - group_buy(product_id, status, created_at): product_id 가 unique 라 상품당 공구 1건 → unique 인덱스로 충분
+--  - point_history(idempotency_key), payment(merchant_uid): unique 제약 인덱스 사용
+
+DROP PROCEDURE IF EXISTS mogu_create_index;
+
+DELIMITER //
+CREATE PROCEDURE mogu_create_index(IN p_table VARCHAR(64), IN p_index VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+    DECLARE v_columns VARCHAR(255) DEFAULT REPLACE(p_columns, ' ', '');
+
+    IF EXISTS (SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = DATABASE() AND table_name = p_table)
+       AND NOT EXISTS (SELECT 1
+                       FROM (SELECT index_name,
+                                    GROUP_CONCAT(column_name ORDER BY seq_in_index SEPARATOR ',') AS cols
+                             FROM information_schema.statistics
+                             WHERE table_schema = DATABASE() AND table_name = p_table
+                             GROUP BY index_name) existing
+                       WHERE existing.index_name = p_index
+                          OR existing.cols = v_columns
+                          OR existing.cols LIKE CONCAT(v_columns, ',%'))
+    THEN
+        SET @ddl = CONCAT('CREATE INDEX ', p_index, ' ON ', p_table, ' (', p_columns, ')');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+DELIMITER ;
+
+-- 공구 마감/마감 임박 스캔: status = ? and end_at < ? (order by end_at)
+CALL mogu_create_index('group_buy', 'idx_group_buy_status_end_at', 'status, end_at');
+
+-- 단계 조회: group_buy_id = ? and start_qty <= ? order by start_qty desc limit 1
+CALL mogu_create_index('group_buy_stage', 'idx_group_buy_stage_group_buy_start_qty', 'group_buy_id, start_qty');
+
+-- 참여자/누적 수량/스냅샷 확정 배치: group_buy_id = ? (and order_line_id > ? order by order_line_id)
+CALL mogu_create_index('order_line', 'idx_order_line_group_buy_id', 'group_buy_id');
+
+-- 카테고리 목록(keyset): category = ? and (created_at, product_id) < (?, ?) order by created_at desc
+CALL mogu_create_index('product', 'idx_product_category_created_at', 'category, created_at');
+
+-- 가격 범위 목록: original_price_per_base_unit between ? and ?
+CALL mogu_create_index('product', 'idx_product_price_created_at', 'original_price_per_base_unit, created_at');
+
+-- 변경분 동기화(검색 색인 등): modified_at > ?
+CALL mogu_create_index('product', 'idx_product_modified_at', 'modified_at');
+
+DROP PROCEDURE mogu_create_index;
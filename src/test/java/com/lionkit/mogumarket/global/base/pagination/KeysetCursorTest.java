@@ -0,0 +1,38 @@
+package com.lionkit.mogumarket.global.base.pagination;
+
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTrip() {
+        KeysetCursor c = new KeysetCursor(LocalDateTime.of(2025, 3, 1, 12, 30, 5, 123_000_000), 42L);
+        assertEquals(c, KeysetCursor.decode(c.encode()));
+        assertEquals(KeysetCursor.ofId(7L), KeysetCursor.decode(KeysetCursor.ofId(7L).encode()));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(BusinessException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(BusinessException.class, () -> KeysetCursor.decodeTimed(KeysetCursor.ofId(7L).encode()));
+    }
+
+    @Test
+    void pageTrimsLookaheadRow() {
+        CursorPageResponse<Long> page = CursorPageResponse.of(List.of(5L, 4L, 3L), 2, KeysetCursor::ofId, null);
+        assertEquals(List.of(5L, 4L), page.content());
+        assertTrue(page.hasNext());
+        assertEquals(4L, KeysetCursor.decode(page.nextCursor()).id());
+
+        CursorPageResponse<Long> last = CursorPageResponse.of(List.of(1L), 2, KeysetCursor::ofId, 1L);
+        assertFalse(last.hasNext());
+        assertNull(last.nextCursor());
+    }
+}
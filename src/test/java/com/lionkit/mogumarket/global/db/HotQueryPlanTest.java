@@ -0,0 +1,198 @@
+package com.lionkit.mogumarket.global.db;
+
+import com.lionkit.mogumarket.category.enums.CategoryType;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyStageRepository;
+import com.lionkit.mogumarket.order.repository.OrderLineRepository;
+import com.lionkit.mogumarket.payment.repository.PaymentRepository;
+import com.lionkit.mogumarket.point.repository.PointHistoryRepository;
+import com.lionkit.mogumarket.product.entity.Product;
+import com.lionkit.mogumarket.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회 경로 실행 계획 회귀 테스트 (H2 MySQL 모드, 엔티티 정의로 생성한 스키마)
+ * - 핫 리포지토리 메서드를 실제로 호출해 Hibernate 가 보낸 SQL 과 바인딩 값을 수집(JDBC 프록시)하고
+ *   같은 값으로 EXPLAIN, 테이블 풀스캔으로 바뀌면 실패 (쿼리를 고치면 이 테스트가 그대로 검증)
+ * - 마이그레이션(V1__hot_query_indexes.sql)의 인덱스가 엔티티 @Table(indexes) 에도 있는지 확인
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mogu-plan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,YEAR,MONTH,DAY;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class HotQueryPlanTest {
+
+    private static final String MIGRATION = "db/migration/mysql/V1__hot_query_indexes.sql";
+    private static final Pattern CREATE_INDEX = Pattern.compile("CALL mogu_create_index\\('(\\w+)', '(\\w+)'");
+
+    /** Hibernate 가 실제로 준비한 SELECT 와 바인딩 값 (파라미터 순번 → 값) */
+    private record Captured(String sql, Map<Integer, Object> params) {}
+
+    private static final List<Captured> captured = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ds ? wrap(DataSource.class, ds) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired private DataSource dataSource;
+    @Autowired private GroupBuyRepository groupBuyRepository;
+    @Autowired private GroupBuyStageRepository groupBuyStageRepository;
+    @Autowired private OrderLineRepository orderLineRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private PointHistoryRepository pointHistoryRepository;
+    @Autowired private PaymentRepository paymentRepository;
+
+    /** 리포지토리 메서드 → 실제 호출 (대표 값: OPEN 상태, 실제 시각, id 1 / 빈 테이블이어도 SQL 은 그대로 나감) */
+    private Map<String, Runnable> hotQueries() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Product product = productRepository.getReferenceById(1L);
+        GroupBuy groupBuy = groupBuyRepository.getReferenceById(1L);
+
+        Map<String, Runnable> q = new LinkedHashMap<>();
+        q.put("GroupBuyRepository.findExpiryRows",
+                () -> groupBuyRepository.findExpiryRows(GroupBuyStatus.OPEN, now));
+        q.put("GroupBuyRepository.findClosingSoonRows",
+                () -> groupBuyRepository.findClosingSoonRows(GroupBuyStatus.OPEN, now, now.plusHours(1), PageRequest.of(0, 200)));
+        q.put("GroupBuyRepository.findTopByProductAndStatusOrderByCreatedAtDesc",
+                () -> groupBuyRepository.findTopByProductAndStatusOrderByCreatedAtDesc(product, GroupBuyStatus.OPEN));
+        q.put("GroupBuyStageRepository.findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc",
+                () -> groupBuyStageRepository.findTopByGroupBuyAndStartQtyLessThanEqualOrderByStartQtyDesc(groupBuy, 10));
+        q.put("OrderLineRepository.sumOrderedQtyByGroupBuy",
+                () -> orderLineRepository.sumOrderedQtyByGroupBuy(groupBuy));
+        q.put("OrderLineRepository.findIdsByGroupBuyIdAfter",
+                () -> orderLineRepository.findIdsByGroupBuyIdAfter(1L, 0L, PageRequest.of(0, 500)));
+        q.put("ProductRepository.findPageByCategory",
+                () -> productRepository.findPageByCategory(CategoryType.AGRICULTURE, now, 100L, PageRequest.ofSize(11)));
+        q.put("ProductRepository.findPageByPrice",
+                () -> productRepository.findPageByPrice(1000, 5000, now, 100L, PageRequest.ofSize(11)));
+        q.put("ProductRepository.findByModifiedAtGreaterThan",
+                () -> productRepository.findByModifiedAtGreaterThan(now));
+        q.put("PointHistoryRepository.findByIdempotencyKey",
+                () -> pointHistoryRepository.findByIdempotencyKey("k"));
+        q.put("PaymentRepository.findByMerchantUid",
+                () -> paymentRepository.findByMerchantUid("m"));
+        return q;
+    }
+
+    @Test
+    void hotQueriesDoNotScanWholeTable() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        hotQueries().forEach((method, call) -> {
+            Captured select = captureSelect(method, call);
+            // Hibernate 가 바인딩한 값을 그대로 넣어야 col = NULL 같은 단락 평가 없이 실제 접근 경로가 나옴
+            Object[] params = select.params().values().toArray();
+            assertThat(params)
+                    .as("%s 바인딩 값", method)
+                    .hasSize((int) select.sql().chars().filter(c -> c == '?').count())
+                    .doesNotContainNull();
+            String plan = jdbc.queryForObject("explain " + select.sql(), String.class, params);
+            assertThat(plan.toLowerCase())
+                    .as("%s 실행 계획:%n%s%n%s", method, select.sql(), plan)
+                    .doesNotContain(".tablescan");
+        });
+    }
+
+    private static Captured captureSelect(String method, Runnable call) {
+        captured.clear();
+        call.run();
+        assertThat(captured).as("%s 가 보낸 SELECT", method).hasSize(1);
+        return captured.get(0);
+    }
+
+    /** DataSource → Connection → PreparedStatement 까지 감싸 SELECT 의 SQL/바인딩 값을 기록 */
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection c && method.getName().equals("getConnection")) {
+                return wrap(Connection.class, c);
+            }
+            if (result instanceof PreparedStatement ps && method.getName().equals("prepareStatement")
+                    && ((String) args[0]).stripLeading().toLowerCase().startsWith("select")) {
+                Map<Integer, Object> params = new TreeMap<>();
+                captured.add(new Captured((String) args[0], params));
+                return recordBindings(ps, params);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement recordBindings(PreparedStatement target, Map<Integer, Object> params) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        params.put(index, method.getName().equals("setNull") ? null : args[1]);
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Test
+    void migrationIndexesAreDeclaredOnEntities() throws Exception {
+        String script = new ClassPathResource(MIGRATION).getContentAsString(StandardCharsets.UTF_8);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        Matcher m = CREATE_INDEX.matcher(script);
+        int found = 0;
+        while (m.find()) {
+            found++;
+            String table = m.group(1);
+            String index = m.group(2);
+            List<String> indexes = jdbc.queryForList(
+                    "select lower(index_name) from information_schema.indexes where lower(table_name) = ?",
+                    String.class, table);
+            assertThat(indexes).as("%s.%s", table, index).contains(index);
+        }
+        assertThat(found).isPositive();
+    }
+}
@@ -0,0 +1,336 @@
+package com.lionkit.mogumarket.order;
+
+import com.lionkit.mogumarket.category.enums.CategoryType;
+import com.lionkit.mogumarket.global.base.response.exception.BusinessException;
+import com.lionkit.mogumarket.global.base.response.exception.ExceptionType;
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuy;
+import com.lionkit.mogumarket.groupbuy.domain.GroupBuyStage;
+import com.lionkit.mogumarket.groupbuy.enums.GroupBuyStatus;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyRepository;
+import com.lionkit.mogumarket.groupbuy.repository.GroupBuyUserRepository;
+import com.lionkit.mogumarket.groupbuy.scheduler.GroupBuyExpiryWheel;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyService;
+import com.lionkit.mogumarket.groupbuy.service.GroupBuyStageCache;
+import com.lionkit.mogumarket.order.dto.request.CreateOrderLineRequest;
+import com.lionkit.mogumarket.order.repository.OrderLineRepository;
+import com.lionkit.mogumarket.order.service.OrderService;
+import com.lionkit.mogumarket.order.service.SnapshotFinalizeJob;
+import com.lionkit.mogumarket.outbox.enums.OutboxEventType;
+import com.lionkit.mogumarket.outbox.repository.OutboxEventRepository;
+import com.lionkit.mogumarket.outbox.service.OutboxService;
+import com.lionkit.mogumarket.product.entity.Product;
+import com.lionkit.mogumarket.product.enums.Unit;
+import com.lionkit.mogumarket.product.repository.ProductRepository;
+import com.lionkit.mogumarket.product.service.ProductOverviewCache;
+import com.lionkit.mogumarket.security.jwt.enums.Role;
+import com.lionkit.mogumarket.store.entity.Store;
+import com.lionkit.mogumarket.store.repsitory.StoreRepository;
+import com.lionkit.mogumarket.user.entity.User;
+import com.lionkit.mogumarket.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문/공구 참여 동시성 부하 테스트 (H2 MySQL 모드, 외부 인프라 없이 실행)
+ * - 실행: ./gradlew loadTest [-Pload.orders=2000 -Pload.threads=32 -Pload.rollback-ratio=0.1 -Pload.joins=1000]
+ * - p50/p99 지연, 처리량, 락 타임아웃 비율, 불변식 위반(currentBaseQty/currentQty vs 주문 라인 합)을 출력합니다.
+ */
+@Tag("load")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mogu-load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE,KEY,YEAR,MONTH,DAY;LOCK_TIMEOUT=5000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.hikari.maximum-pool-size=80",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.open-in-view=false",
+        "spring.flyway.enabled=false",
+        "logging.level.org.hibernate.SQL=off"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderService.class, GroupBuyService.class, GroupBuyStageCache.class, SnapshotFinalizeJob.class,
+        OutboxService.class, GroupBuyExpiryWheel.class, ServiceMetrics.class, SimpleMeterRegistry.class,
+        ProductOverviewCache.class})
+class OrderConcurrencyLoadTest {
+
+    private static final int ORDERS = Integer.getInteger("load.orders", 2000);
+    private static final int THREADS = Integer.getInteger("load.threads", 32);
+    private static final double ROLLBACK_RATIO = Double.parseDouble(System.getProperty("load.rollback-ratio", "0.1"));
+    private static final int JOINS = Integer.getInteger("load.joins", 1000);
+
+    private static final int PRODUCTS = 6;
+    private static final int GROUP_BUY_PRODUCTS = 3;
+    private static final int USERS = 100;
+
+    @Autowired OrderService orderService;
+    @Autowired GroupBuyService groupBuyService;
+    @Autowired ProductRepository productRepository;
+    @Autowired StoreRepository storeRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired GroupBuyRepository groupBuyRepository;
+    @Autowired GroupBuyUserRepository groupBuyUserRepository;
+    @Autowired OrderLineRepository orderLineRepository;
+    @Autowired OutboxEventRepository outboxEventRepository;
+
+    private Store store;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        store = storeRepository.save(Store.builder().name("부하상회").build());
+        userIds.clear();
+        for (int i = 0; i < USERS; i++) {
+            String username = "load-" + System.nanoTime() + "-" + i;
+            userIds.add(userRepository.save(User.builder().username(username).nickname(username).role(Role.USER).build()).getId());
+        }
+    }
+
+    /** 여러 상품을 섞은 순서로 동시에 주문 확정 + 일부 롤백. 누적 수량 불변식이 깨지면 실패 */
+    @Test
+    void confirmAndRollbackUnderContention() throws InterruptedException {
+        List<Product> products = new ArrayList<>();
+        List<Long> groupBuyIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product p = saveProduct("부하상품-" + i, ORDERS * 2.0);
+            products.add(p);
+            if (i < GROUP_BUY_PRODUCTS) groupBuyIds.add(saveGroupBuy(p, ORDERS * 4.0).getId());
+        }
+
+        Recorder confirms = new Recorder();
+        Recorder rollbacks = new Recorder();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(ORDERS);
+
+        long startedAt = System.nanoTime();
+        for (int n = 0; n < ORDERS; n++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    Long userId = userIds.get(rnd.nextInt(userIds.size()));
+                    List<CreateOrderLineRequest> lines = randomLines(products, rnd);
+
+                    Long ordersId = confirms.call(() -> orderService.confirmMultiProductOrder(userId, lines));
+                    if (ordersId != null && rnd.nextDouble() < ROLLBACK_RATIO) {
+                        rollbacks.call(() -> {
+                            orderService.rollbackStocks(ordersId);
+                            return ordersId;
+                        });
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(10, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        pool.shutdown();
+
+        List<String> violations = new ArrayList<>();
+        for (Product p : products) {
+            double current = productRepository.findById(p.getId()).orElseThrow().getCurrentBaseQty();
+            double lines = orderLineRepository.sumOrderedQtyByProductId(p.getId());
+            if (Math.abs(current - lines) > 1e-6) {
+                violations.add("product " + p.getId() + " currentBaseQty=" + current + " lines=" + lines);
+            }
+        }
+        for (Long gbId : groupBuyIds) {
+            GroupBuy gb = groupBuyRepository.findById(gbId).orElseThrow();
+            double lines = orderLineRepository.sumOrderedQtyByGroupBuy(gb);
+            if (Math.abs(gb.getCurrentQty() - lines) > 1e-6) {
+                violations.add("groupBuy " + gbId + " currentQty=" + gb.getCurrentQty() + " lines=" + lines);
+            }
+        }
+
+        confirms.report("confirmMultiProductOrder", elapsedNanos);
+        rollbacks.report("rollbackStocks", elapsedNanos);
+        System.out.printf("[load] invariant violations=%d %s%n", violations.size(), violations);
+
+        assertThat(violations).isEmpty();
+        assertThat(confirms.unexpected).isEmpty();
+        assertThat(rollbacks.unexpected).isEmpty();
+    }
+
+    /** 같은 공구에 동시 참여: 누락 없이 모두 반영되고 목표 달성 알림은 정확히 1건 */
+    @Test
+    void participateLosesNoQuantity() throws InterruptedException {
+        Product p = saveProduct("참여상품", JOINS * 2.0);
+        Long groupBuyId = saveGroupBuy(p, JOINS).getId();
+
+        Recorder joins = new Recorder();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(JOINS);
+
+        long startedAt = System.nanoTime();
+        for (int n = 0; n < JOINS; n++) {
+            Long userId = userIds.get(n % userIds.size());
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    joins.call(() -> groupBuyService.participate(groupBuyId, userId, 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(10, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        pool.shutdown();
+
+        joins.report("participate", elapsedNanos);
+
+        GroupBuy gb = groupBuyRepository.findById(groupBuyId).orElseThrow();
+        long successEvents = outboxEventRepository.findAll().stream()
+                .filter(e -> e.getEventType() == OutboxEventType.GROUP_BUY_SUCCESS && groupBuyId.equals(e.getAggregateId()))
+                .count();
+
+        assertThat(joins.unexpected).isEmpty();
+        assertThat(gb.getCurrentQty()).isEqualTo(joins.succeeded.get());
+        assertThat(groupBuyUserRepository.sumTotalQtyByGroupBuyId(groupBuyId)).isEqualTo(gb.getCurrentQty());
+        assertThat(gb.getStatus()).isEqualTo(GroupBuyStatus.SUCCESS);
+        assertThat(successEvents).isEqualTo(1);
+    }
+
+    private static List<CreateOrderLineRequest> randomLines(List<Product> products, ThreadLocalRandom rnd) {
+        List<Integer> picks = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) picks.add(i);
+        Collections.shuffle(picks, rnd);
+
+        int count = 1 + rnd.nextInt(3);
+        List<CreateOrderLineRequest> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int idx = picks.get(i);
+            boolean groupBuy = idx < GROUP_BUY_PRODUCTS && rnd.nextBoolean();
+            lines.add(new CreateOrderLineRequest(products.get(idx).getId(), (double) (1 + rnd.nextInt(3)), groupBuy));
+        }
+        return lines;
+    }
+
+    private Product saveProduct(String name, double stock) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .unit(Unit.KG)
+                .category(CategoryType.AGRICULTURE)
+                .originalPricePerBaseUnit(10_000)
+                .stock(stock)
+                .store(store)
+                .build());
+    }
+
+    /** 첫 단계가 0 부터 시작하는 3단계 공구 (누적 0 에서도 단계 조회가 성공하도록) */
+    private GroupBuy saveGroupBuy(Product product, double targetQty) {
+        GroupBuy gb = GroupBuy.builder()
+                .product(product)
+                .targetQty(targetQty)
+                .status(GroupBuyStatus.OPEN)
+                .startAt(LocalDateTime.now())
+                .endAt(LocalDateTime.now().plusDays(7))
+                .maxDiscountPercent(20)
+                .basePricePerBaseUnitSnapshot(product.getOriginalPricePerBaseUnit())
+                .build();
+        for (int level = 1; level <= 3; level++) {
+            GroupBuyStage stage = GroupBuyStage.builder()
+                    .groupBuy(gb)
+                    .level(level)
+                    .startQty(Math.round(targetQty * (level - 1) / 3))
+                    .discountPercent(level * 5.0)
+                    .build();
+            stage.computeAppliedPriceFromSnapshot();
+            gb.getStages().add(stage);
+        }
+        return groupBuyRepository.save(gb);
+    }
+
+    /** 호출 결과 분류 + 지연 기록 */
+    private static final class Recorder {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger lockTimeouts = new AtomicInteger();
+        private final ConcurrentLinkedQueue<String> unexpected = new ConcurrentLinkedQueue<>();
+
+        interface Call<T> {
+            T run();
+        }
+
+        <T> T call(Call<T> call) {
+            long t0 = System.nanoTime();
+            try {
+                T result = call.run();
+                succeeded.incrementAndGet();
+                return result;
+            } catch (BusinessException e) {
+                ExceptionType type = e.getExceptionType();
+                if (type == ExceptionType.PRODUCT_LOCK_TIMEOUT || type == ExceptionType.PRODUCT_LOCK_CONFLICT) {
+                    lockTimeouts.incrementAndGet();
+                } else {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            } catch (PessimisticLockingFailureException e) {
+                lockTimeouts.incrementAndGet();
+                return null;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                rejected.incrementAndGet();
+                return null;
+            } catch (RuntimeException e) {
+                unexpected.add(e.getClass().getSimpleName() + ": " + e.getMessage());
+                return null;
+            } finally {
+                latencies.add(System.nanoTime() - t0);
+            }
+        }
+
+        void report(String name, long elapsedNanos) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            int calls = sorted.size();
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf(
+                    "[load] %s calls=%d ok=%d rejected=%d lockTimeout=%d (%.2f%%) unexpected=%d p50=%.2fms p99=%.2fms throughput=%.1f/s%n",
+                    name, calls, succeeded.get(), rejected.get(), lockTimeouts.get(),
+                    calls == 0 ? 0.0 : lockTimeouts.get() * 100.0 / calls,
+                    unexpected.size(), percentileMs(sorted, 0.50), percentileMs(sorted, 0.99),
+                    calls / seconds);
+            unexpected.stream().limit(10).forEach(u -> System.out.println("[load]   unexpected: " + u));
+        }
+
+        private static double percentileMs(List<Long> sorted, double q) {
+            if (sorted.isEmpty()) return 0;
+            int idx = (int) Math.ceil(q * sorted.size()) - 1;
+            return sorted.get(Math.max(0, idx)) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.lionkit.mogumarket.recommend.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientLlmClientTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRecoversThroughHalfOpen() throws Exception {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger calls = new AtomicInteger();
+        LlmClient raw = prompt -> {
+            calls.incrementAndGet();
+            if (failing.get()) throw new IllegalStateException("down");
+            return "ok";
+        };
+        ResilientLlmClient client = new ResilientLlmClient(raw, registry, 3, 50, 4);
+
+        for (int i = 0; i < 3; i++) assertThrows(IllegalStateException.class, () -> client.complete("p"));
+        assertEquals(ResilientLlmClient.State.OPEN, client.state());
+
+        LlmUnavailableException rejected = assertThrows(LlmUnavailableException.class, () -> client.complete("p"));
+        assertEquals("circuit_open", rejected.getReason());
+        assertEquals(3, calls.get());
+
+        Thread.sleep(80);
+        failing.set(false);
+        assertEquals("ok", client.complete("p"));
+        assertEquals(ResilientLlmClient.State.CLOSED, client.state());
+    }
+
+    @Test
+    void bulkheadRejectsBeyondConcurrencyLimit() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LlmClient raw = prompt -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        };
+        ResilientLlmClient client = new ResilientLlmClient(raw, registry, 3, 1000, 1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> client.complete("p"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        LlmUnavailableException rejected = assertThrows(LlmUnavailableException.class, () -> client.complete("p"));
+        assertEquals("bulkhead_full", rejected.getReason());
+
+        release.countDown();
+        assertEquals("slow", first.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("llm.resilience").tag("event", "rejected_bulkhead_full").counter().count());
+    }
+
+    @Test
+    void streamCancelledAfterDataCountsAsSuccess() {
+        LlmClient raw = prompt -> "{\"recommendedPrice\": 1}";
+        ResilientLlmClient client = new ResilientLlmClient(raw, registry, 1, 1000, 1);
+
+        assertEquals("{\"recommendedPrice\": 1}", StreamingJsonObject.firstObject(client.stream("p")).block());
+        assertEquals(ResilientLlmClient.State.CLOSED, client.state());
+        assertEquals("again", new ResilientLlmClient(p -> "again", registry, 1, 1000, 1).stream("p").blockFirst());
+    }
+}
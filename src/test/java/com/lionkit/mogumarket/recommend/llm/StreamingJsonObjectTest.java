@@ -0,0 +1,43 @@
+package com.lionkit.mogumarket.recommend.llm;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingJsonObjectTest {
+
+    @Test
+    void completesWhenTopLevelObjectCloses() {
+        StreamingJsonObject acc = new StreamingJsonObject();
+        assertEquals(List.of(), acc.feed("```json\n{\"reasoning\": \"가격 {높음}"));
+        assertEquals(List.of(), acc.feed(" \\\"인기\\\"\", \"nested\": {\"a\": 1}"));
+        assertEquals(List.of("{\"reasoning\": \"가격 {높음} \\\"인기\\\"\", \"nested\": {\"a\": 1}}"), acc.feed("}\n```"));
+    }
+
+    @Test
+    void cancelsStreamAfterFirstObject() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flux<String> chunks = Flux.just("{\"recommendedPrice\": ", "1200}", " trailing", " tokens")
+                .doOnCancel(() -> cancelled.set(true));
+
+        assertEquals("{\"recommendedPrice\": 1200}", StreamingJsonObject.firstObject(chunks).block());
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void emitsConsecutiveObjectsAsTheyClose() {
+        Flux<String> chunks = Flux.just("{\"index\": 0}\n{\"ind", "ex\": 1}", "\n{\"index\": 2");
+
+        assertEquals(List.of("{\"index\": 0}", "{\"index\": 1}"),
+                StreamingJsonObject.objects(chunks).collectList().block());
+    }
+
+    @Test
+    void emptyWhenObjectNeverCloses() {
+        assertNull(StreamingJsonObject.firstObject(Flux.just("{\"a\": ", "1")).block());
+    }
+}
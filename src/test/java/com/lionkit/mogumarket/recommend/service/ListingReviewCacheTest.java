@@ -0,0 +1,83 @@
+package com.lionkit.mogumarket.recommend.service;
+
+import com.lionkit.mogumarket.global.metrics.ServiceMetrics;
+import com.lionkit.mogumarket.recommend.dto.request.ListingReviewRequest;
+import com.lionkit.mogumarket.recommend.dto.response.ListingReviewResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListingReviewCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ListingReviewCache cache = new ListingReviewCache(
+            new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class),
+            new ServiceMetrics(registry), 60_000, 100);
+
+    @Test
+    void keyIgnoresCaseAndWhitespace() {
+        ListingReviewRequest a = ListingReviewRequest.builder().name("제주  당근 5KG").description(" 달달한 당근 ").build();
+        ListingReviewRequest b = ListingReviewRequest.builder().name("제주 당근 5kg").description("달달한 당근").build();
+        ListingReviewRequest c = ListingReviewRequest.builder().name("제주 당근 10kg").description("달달한 당근").build();
+
+        assertEquals(cache.keyOf(a, "KRW"), cache.keyOf(b, "krw"));
+        assertNotEquals(cache.keyOf(a, "KRW"), cache.keyOf(c, "KRW"));
+    }
+
+    @Test
+    void nearbyPricesShareBucket() {
+        assertEquals(ListingReviewCache.bucket(3200, 0.05), ListingReviewCache.bucket(3210, 0.05));
+        assertNotEquals(ListingReviewCache.bucket(3200, 0.05), ListingReviewCache.bucket(4000, 0.05));
+    }
+
+    @Test
+    void concurrentIdenticalRequestsCallLoaderOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ListingReviewResponse result = ListingReviewResponse.builder().recommendedPrice(4000).fromLlm(true).build();
+
+        CompletableFuture<ListingReviewResponse> leader = CompletableFuture.supplyAsync(() -> cache.getOrLoad("k", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return result;
+        }));
+        while (registry.find("llm.review.cache").tag("result", "miss").counter() == null) Thread.onSpinWait();
+
+        CompletableFuture<ListingReviewResponse> follower = CompletableFuture.supplyAsync(() -> cache.getOrLoad("k", () -> {
+            calls.incrementAndGet();
+            return result;
+        }));
+        while (registry.find("llm.review.cache").tag("result", "coalesced").counter() == null) Thread.onSpinWait();
+        release.countDown();
+
+        assertSame(result, leader.get(5, TimeUnit.SECONDS));
+        assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        assertSame(result, cache.getOrLoad("k", () -> fail("cached")));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad("f", () -> {
+            throw new IllegalStateException("llm down");
+        }));
+        ListingReviewResponse ok = ListingReviewResponse.builder().recommendedPrice(1).fromLlm(true).build();
+        assertSame(ok, cache.getOrLoad("f", () -> ok));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}